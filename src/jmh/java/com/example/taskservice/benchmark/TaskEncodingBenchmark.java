@@ -0,0 +1,124 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.codec.CborArrayEncoder;
+import com.example.taskservice.codec.TaskProtobufEncoder;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.mapper.TaskProtobufMapper;
+import com.example.taskservice.proto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.example.taskservice.commons.Constants.APPLICATION_PROTOBUF_VALUE;
+
+// A list of tasks as JSON, CBOR and Protobuf: encoding it with the encoder the server uses for that format, and
+// decoding it the way a caller would. The payload size of each format is printed when the trial starts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEncodingBenchmark {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(TaskResponseDTO.class);
+
+    @Param({"json", "cbor", "protobuf"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private Encoder<Object> encoder;
+    private MediaType mediaType;
+    private List<TaskResponseDTO> tasks;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        switch (format) {
+            case "json" -> {
+                encoder = new Jackson2JsonEncoder(jsonMapper);
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "cbor" -> {
+                encoder = new CborArrayEncoder(cborMapper);
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "protobuf" -> {
+                encoder = new TaskProtobufEncoder(new TaskProtobufMapper());
+                mediaType = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+        tasks = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new TaskResponseDTO(id, "Task " + id, "Description of task " + id, "Pending", id % 7))
+                .toList();
+        payload = encode();
+        System.out.printf("%n%s, %d tasks: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return DataBufferUtils.join(encoder.encode(Flux.fromIterable(tasks), DefaultDataBufferFactory.sharedInstance,
+                        ELEMENT_TYPE, mediaType, null))
+                .map(TaskEncodingBenchmark::toBytes)
+                .block();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return switch (format) {
+            case "json" -> jsonMapper.readValue(payload, TaskResponseDTO[].class);
+            case "cbor" -> cborMapper.readValue(payload, TaskResponseDTO[].class);
+            default -> {
+                // Length-prefixed messages, read with one CodedInputStream instead of one per message.
+                CodedInputStream input = CodedInputStream.newInstance(payload);
+                List<TaskResponse> messages = new ArrayList<>(size);
+                while (!input.isAtEnd()) {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    messages.add(TaskResponse.parseFrom(input));
+                    input.popLimit(limit);
+                }
+                yield messages;
+            }
+        };
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+}
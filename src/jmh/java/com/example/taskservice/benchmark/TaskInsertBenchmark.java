@@ -0,0 +1,77 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.TaskServiceApplication;
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+// Inserts per second for bursts of concurrent createTask calls: one save() each versus write coalescing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final int BURST = 200;
+
+    @Param({"false", "true"})
+    public boolean insertBatch;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.profiles.active=h2",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///taskservice-insert-benchmark-" + insertBatch,
+                        "spring.r2dbc.pool.initial-size=" + poolSize,
+                        "spring.r2dbc.pool.max-size=" + poolSize,
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN",
+                        "task.insert-batch.enabled=" + insertBatch)
+                .run();
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public Long createTasks() {
+        return Flux.range(0, BURST)
+                .flatMap(i -> taskService.createTask("bench@example.com",
+                        new TaskRequestDTO("Task " + i, "Description of task " + i, "Pending")), BURST)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.codec.TaskJsonEncoder;
+import com.example.taskservice.config.TaskJsonCacheProperties;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Encoding a page of tasks with a bare ObjectMapper, through the Jackson WebFlux encoder, and through the
+// encoder the controllers use, which serves tasks encoded before from TaskJsonCache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(TaskResponseDTO.class);
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonEncoder encoder;
+    private TaskJsonEncoder cachedEncoder;
+    private List<TaskResponseDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        tasks = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new TaskResponseDTO(id, "Task " + id, "Description of task " + id, "Pending", 0L))
+                .toList();
+        cachedEncoder = new TaskJsonEncoder(new TaskJsonCache(new TaskJsonCacheProperties(), objectMapper, new SimpleMeterRegistry()));
+        encode(cachedEncoder, MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public long jsonArray() {
+        return encode(encoder, MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public long ndjson() {
+        return encode(encoder, MediaType.APPLICATION_NDJSON);
+    }
+
+    @Benchmark
+    public long cachedJsonArray() {
+        return encode(cachedEncoder, MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public long cachedNdjson() {
+        return encode(cachedEncoder, MediaType.APPLICATION_NDJSON);
+    }
+
+    private long encode(Encoder<? super TaskResponseDTO> encoder, MediaType mediaType) {
+        return encoder.encode(Flux.fromIterable(tasks), DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE,
+                        mediaType, null)
+                .map(buffer -> {
+                    int length = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) length;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
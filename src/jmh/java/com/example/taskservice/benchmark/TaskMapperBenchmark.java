@@ -0,0 +1,53 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private TaskRequestDTO request;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        request = new TaskRequestDTO("Write report", "Quarterly numbers for the board", "Pending");
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Write report");
+        task.setDescription("Quarterly numbers for the board");
+        task.setStatus("Pending");
+        task.setUserEmail("user@example.com");
+        task.setVersion(3L);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return taskMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public TaskResponseDTO toResponseDto() {
+        return taskMapper.toResponseDto(task);
+    }
+}
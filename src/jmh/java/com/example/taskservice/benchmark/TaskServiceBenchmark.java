@@ -0,0 +1,107 @@
+package com.example.taskservice.benchmark;
+
+import com.example.taskservice.TaskServiceApplication;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end service calls against the in-memory H2 database, with the task cache on and off.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int TASKS = 10_000;
+    // Reads pick from a small working set, so with the cache on they measure hits rather than a cold cache.
+    private static final int HOT_TASKS = 100;
+    private static final String USER_EMAIL = "bench@example.com";
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.profiles.active=h2",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///taskservice-benchmark-" + cacheEnabled,
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN",
+                        "task.cache.enabled=" + cacheEnabled)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        ids = taskService.createTasks(USER_EMAIL, Flux.range(1, TASKS).map(TaskServiceBenchmark::request))
+                .map(result -> result.getTask().getId())
+                .collectList()
+                .block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDTO getTaskById() {
+        return taskService.getTaskById(ids.get(ThreadLocalRandom.current().nextInt(HOT_TASKS))).block();
+    }
+
+    @Benchmark
+    public TaskPageDTO getTasksPage() {
+        return taskService.getTasksPage(null, 50).block();
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask() {
+        return taskService.createTask(USER_EMAIL, request(0)).block();
+    }
+
+    @Benchmark
+    public TaskResponseDTO updateTask() {
+        return taskService.updateTask(randomId(), request(1)).block();
+    }
+
+    @Benchmark
+    public TaskResponseDTO patchTask() {
+        return taskService.patchTask(randomId(), new TaskPatchRequestDTO(null, null, "Done"), null).block();
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static TaskRequestDTO request(int i) {
+        return new TaskRequestDTO("Task " + i, "Description of task " + i, "Pending");
+    }
+}
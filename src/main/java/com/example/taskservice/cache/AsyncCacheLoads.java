@@ -0,0 +1,31 @@
+package com.example.taskservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+final class AsyncCacheLoads {
+
+    private AsyncCacheLoads() {
+    }
+
+    // The mapping function only installs an empty future; the load starts once Caffeine has left its compute.
+    // Running it inside could complete synchronously on H2, let the pool hand the released connection to a waiting
+    // request on the same thread, and have that request invalidate the cache mid-compute ("Recursive update").
+    // Missing values complete the load with null, which Caffeine does not store.
+    // Cancelling one subscriber must not cancel a load that other callers may be sharing.
+    // A loader that throws instead of returning a Mono fails the future too, or Caffeine would keep the
+    // never-completing future and every later get of the key would wait on it.
+    static <K, V> Mono<V> get(AsyncCache<K, V> cache, K key, Supplier<Mono<V>> loader) {
+        return Mono.fromFuture(() -> {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> future = cache.get(key, (ignored, executor) -> created);
+            if (future == created) {
+                Mono.defer(loader).subscribe(created::complete, created::completeExceptionally, () -> created.complete(null));
+            }
+            return future;
+        }, true);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskCacheProperties;
+import com.example.taskservice.entity.Task;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class TaskCache {
+
+    public static final String CACHE_NAME = "tasks";
+
+    private final TaskCacheProperties properties;
+    private final AsyncCache<Long, Task> cache;
+
+    public TaskCache(TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Missing tasks are never cached, so 404s always go to the database.
+    public Mono<Task> get(Long id, Function<Long, Mono<Task>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(id);
+        }
+        return AsyncCacheLoads.get(cache, id, () -> loader.apply(id));
+    }
+
+    public void invalidate(Long id) {
+        log.debug("Invalidating cached task with ID: {}", id);
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskIdempotencyProperties;
+import com.example.taskservice.exception.BadRequestException;
+import com.example.taskservice.exception.IdempotencyKeyReusedException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+import static com.example.taskservice.commons.Constants.IDEMPOTENCY_KEY_IS_NOT_VALID;
+import static com.example.taskservice.commons.Constants.IDEMPOTENCY_KEY_WAS_REUSED;
+
+// First responses of writes sent with an Idempotency-Key, so a client retrying after a timeout gets the same
+// response back instead of writing again. A retry arriving while the first attempt is still running waits for
+// it. The write keeps running when its caller goes away, so its response is there for the retry. Failed writes
+// are not kept and can be retried for real.
+@Slf4j
+@Component
+public class TaskIdempotencyStore {
+
+    public static final String CACHE_NAME = "task-idempotency";
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final TaskIdempotencyProperties properties;
+    private final AsyncCache<Key, Entry> cache;
+
+    public TaskIdempotencyStore(TaskIdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Keys belong to the user sending them. The request is compared on replay, so a key sent again with another
+    // method, path or body is refused rather than answered with the response of a different write.
+    @SuppressWarnings("unchecked")
+    public <T> Mono<ResponseEntity<T>> execute(String userEmail, String idempotencyKey, Object request,
+                                               Supplier<Mono<ResponseEntity<T>>> write) {
+        if (idempotencyKey == null || !properties.isEnabled()) {
+            return write.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new BadRequestException(IDEMPOTENCY_KEY_IS_NOT_VALID));
+        }
+        return AsyncCacheLoads.get(cache, new Key(userEmail, idempotencyKey),
+                        () -> write.get().map(response -> new Entry(request, response)))
+                .flatMap(entry -> {
+                    if (!entry.request().equals(request)) {
+                        return Mono.error(new IdempotencyKeyReusedException(IDEMPOTENCY_KEY_WAS_REUSED + idempotencyKey));
+                    }
+                    log.debug("Answering write with Idempotency-Key: {}", idempotencyKey);
+                    return Mono.just((ResponseEntity<T>) entry.response());
+                });
+    }
+
+    private record Key(String userEmail, String idempotencyKey) {
+    }
+
+    private record Entry(Object request, ResponseEntity<?> response) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskJsonCacheProperties;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.stereotype.Component;
+
+// JSON of each task as last encoded, bounded by its total size in bytes. An entry is only served for the
+// version it was encoded at, so a write on another instance can never bring back an old body; evicting on
+// local writes just frees the memory early.
+@Slf4j
+@Component
+public class TaskJsonCache {
+
+    public static final String CACHE_NAME = "task-json";
+
+    // Rough per-entry cost of the key, the entry and the array header on top of the JSON itself.
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final TaskJsonCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Encoded> cache;
+
+    public TaskJsonCache(TaskJsonCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Long id, Encoded encoded) -> encoded.json().length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // The returned array is shared and must not be modified. Tasks of a sparse fieldset miss fields, so
+    // their JSON is neither served from nor stored in the cache, which only holds whole tasks.
+    public byte[] get(TaskResponseDTO task) {
+        if (!properties.isEnabled() || task.getId() == null || task.getVersion() == null
+                || task.getTitle() == null || task.getDescription() == null || task.getStatus() == null) {
+            return encode(task);
+        }
+        Encoded cached = cache.getIfPresent(task.getId());
+        if (cached != null && cached.version() == task.getVersion()) {
+            return cached.json();
+        }
+        byte[] json = encode(task);
+        cache.put(task.getId(), new Encoded(task.getVersion(), json));
+        return json;
+    }
+
+    public void invalidate(Long id) {
+        log.debug("Invalidating cached JSON of task with ID: {}", id);
+        cache.invalidate(id);
+    }
+
+    private byte[] encode(TaskResponseDTO task) {
+        try {
+            return objectMapper.writeValueAsBytes(task);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private record Encoded(long version, byte[] json) {
+    }
+}
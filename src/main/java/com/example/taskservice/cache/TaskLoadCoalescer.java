@@ -0,0 +1,82 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.entity.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Concurrent lookups of the same task share the first caller's load instead of each starting their own.
+// An entry lives only while its load runs, so this never serves anything a fresh lookup would not.
+@Slf4j
+@Component
+public class TaskLoadCoalescer {
+
+    public static final String METRIC_NAME = "task.lookups";
+
+    private final Map<Long, CompletableFuture<Task>> inFlight = new ConcurrentHashMap<>();
+    private final Counter started;
+    private final Counter coalesced;
+
+    public TaskLoadCoalescer(MeterRegistry meterRegistry) {
+        this.started = Counter.builder(METRIC_NAME)
+                .description("Task lookups by id, by whether they joined a lookup already in flight")
+                .tag("coalesced", "false")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC_NAME)
+                .description("Task lookups by id, by whether they joined a lookup already in flight")
+                .tag("coalesced", "true")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in.flight", inFlight, Map::size)
+                .description("Task lookups by id currently in flight")
+                .register(meterRegistry);
+    }
+
+    // The result, empty completion or error of the load reaches every caller that joined it.
+    // Cancelling one caller must not cancel a load that the others are waiting for.
+    public Mono<Task> get(Long id, Function<Long, Mono<Task>> loader) {
+        return Mono.fromFuture(() -> {
+            CompletableFuture<Task> created = new CompletableFuture<>();
+            CompletableFuture<Task> existing = inFlight.putIfAbsent(id, created);
+            if (existing != null) {
+                log.debug("Joining in-flight lookup of task with ID: {}", id);
+                coalesced.increment();
+                return existing;
+            }
+            started.increment();
+            // A loader that throws instead of returning a Mono must still land, or its entry would stay in
+            // flight and every later lookup of the task would join it and wait forever.
+            try {
+                loader.apply(id).subscribe(
+                        task -> land(id, created, task, null),
+                        error -> land(id, created, null, error),
+                        () -> land(id, created, null, null));
+            } catch (RuntimeException ex) {
+                land(id, created, null, ex);
+            }
+            return created;
+        }, true);
+    }
+
+    // Called on writes: callers arriving afterwards start a new lookup instead of joining one that may predate it.
+    public void forget(Long id) {
+        inFlight.remove(id);
+    }
+
+    // Removed before completing, so nobody can join a load whose result has already been handed out.
+    private void land(Long id, CompletableFuture<Task> flight, Task task, Throwable error) {
+        inFlight.remove(id, flight);
+        if (error != null) {
+            flight.completeExceptionally(error);
+        } else {
+            flight.complete(task);
+        }
+    }
+}
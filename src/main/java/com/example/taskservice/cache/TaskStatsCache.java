@@ -0,0 +1,71 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskStatsCacheProperties;
+import com.example.taskservice.dto.TaskStatsDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+// Status counts per user and for all tasks. Writes on this instance evict the affected entries right away;
+// writes on other instances show up once the short TTL expires.
+@Slf4j
+@Component
+public class TaskStatsCache {
+
+    public static final String CACHE_NAME = "task-stats";
+
+    private static final Key ALL_TASKS = new Key(null);
+
+    private final TaskStatsCacheProperties properties;
+    private final AsyncCache<Key, TaskStatsDTO> cache;
+
+    public TaskStatsCache(TaskStatsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Mono<TaskStatsDTO> getAll(Supplier<Mono<TaskStatsDTO>> loader) {
+        return get(ALL_TASKS, loader);
+    }
+
+    public Mono<TaskStatsDTO> getByUserEmail(String userEmail, Supplier<Mono<TaskStatsDTO>> loader) {
+        if (userEmail == null) {
+            return loader.get();
+        }
+        return get(new Key(userEmail), loader);
+    }
+
+    public void invalidate(String userEmail) {
+        log.debug("Invalidating cached task stats for user email: {}", userEmail);
+        cache.synchronous().invalidate(ALL_TASKS);
+        if (userEmail != null) {
+            cache.synchronous().invalidate(new Key(userEmail));
+        }
+    }
+
+    public void invalidateAll() {
+        log.debug("Invalidating all cached task stats");
+        cache.synchronous().invalidateAll();
+    }
+
+    private Mono<TaskStatsDTO> get(Key key, Supplier<Mono<TaskStatsDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        return AsyncCacheLoads.get(cache, key, loader);
+    }
+
+    private record Key(String userEmail) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskservice.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+// Jackson has no non-blocking CBOR parser, so Jackson2CborDecoder only reads single values. This reads a stream
+// of items (POST /batch) from a CBOR array, buffered up to the codec's max in-memory size like any single body.
+public class CborArrayDecoder extends Jackson2CborDecoder {
+
+    public CborArrayDecoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return decodeToMono(input, listType, mimeType, hints)
+                .flatMapIterable(list -> (List<?>) list);
+    }
+}
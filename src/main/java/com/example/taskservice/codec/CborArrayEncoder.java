@@ -0,0 +1,100 @@
+package com.example.taskservice.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Jackson2CborEncoder only writes single values. This writes a stream as an indefinite-length CBOR array through
+// one generator per response, one buffer per element, so lists are sent as they are read instead of being collected.
+public class CborArrayEncoder extends Jackson2CborEncoder {
+
+    public CborArrayEncoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                    .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        ObjectWriter writer = getObjectMapper().writerFor(elementType.toClass());
+        return Flux.using(() -> new ArrayWriter(writer), array -> Flux.from(inputStream)
+                        .map(value -> bufferFactory.wrap(array.write(value)))
+                        // The array start goes out with the first element, so an error before it can still become
+                        // an error response; an empty stream still needs it.
+                        .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory.wrap(array.write(null))))
+                        .concatWith(Mono.fromSupplier(() -> bufferFactory.wrap(array.end()))),
+                ArrayWriter::close);
+    }
+
+    private static final class ArrayWriter {
+
+        private final ObjectWriter writer;
+        private final ByteArrayBuilder output = new ByteArrayBuilder();
+        private final JsonGenerator generator;
+        private boolean started;
+
+        private ArrayWriter(ObjectWriter writer) throws IOException {
+            this.writer = writer;
+            this.generator = writer.createGenerator(output);
+        }
+
+        // Writes the array start before the first value; a null value writes only that.
+        private byte[] write(Object value) {
+            try {
+                if (!started) {
+                    generator.writeStartArray();
+                    started = true;
+                }
+                if (value != null) {
+                    writer.writeValue(generator, value);
+                }
+                return drain();
+            } catch (IOException e) {
+                throw new EncodingException("CBOR encoding error: " + e.getMessage(), e);
+            }
+        }
+
+        private byte[] end() {
+            try {
+                generator.writeEndArray();
+                return drain();
+            } catch (IOException e) {
+                throw new EncodingException("CBOR encoding error: " + e.getMessage(), e);
+            }
+        }
+
+        private byte[] drain() throws IOException {
+            generator.flush();
+            byte[] bytes = output.toByteArray();
+            output.reset();
+            return bytes;
+        }
+
+        private void close() {
+            try {
+                generator.close();
+            } catch (IOException ignored) {
+                // Nothing is written to the output after the last element was handed out.
+            }
+            output.release();
+        }
+    }
+}
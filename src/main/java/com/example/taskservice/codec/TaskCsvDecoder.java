@@ -0,0 +1,169 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.dto.TaskExportDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.taskservice.commons.Constants.CSV_HEADER_IS_REQUIRED;
+import static com.example.taskservice.commons.Constants.CSV_QUOTE_IS_NOT_CLOSED;
+import static com.example.taskservice.commons.Constants.TEXT_CSV_VALUE;
+
+// Reads the rows of a CSV upload (POST /import) one record at a time, as the body arrives. The header row names
+// the columns, in any order; quoted fields follow RFC 4180 and may span lines. The id and version of an
+// imported task are not kept, so only the title, description, status and userEmail columns are read.
+public class TaskCsvDecoder implements Decoder<TaskExportDTO> {
+
+    private static final MimeType TEXT_CSV = MimeType.valueOf(TEXT_CSV_VALUE);
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+    private static final List<String> COLUMNS = List.of("title", "description", "status", "useremail");
+
+    // Records are split on line feeds only, which never occur inside a multi-byte UTF-8 character.
+    private final StringDecoder lineDecoder = StringDecoder.textPlainOnly(List.of("\n"), true);
+    private int maxInMemorySize = 256 * 1024;
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null && TEXT_CSV.isCompatibleWith(mimeType)
+                && TaskExportDTO.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Flux<TaskExportDTO> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                      MimeType mimeType, Map<String, Object> hints) {
+        return Flux.defer(() -> {
+            CsvReader reader = new CsvReader();
+            return lineDecoder.decode(inputStream, STRING_TYPE, mimeType, hints)
+                    .<TaskExportDTO>handle((line, sink) -> {
+                        TaskExportDTO row = reader.read(line);
+                        if (row != null) {
+                            sink.next(row);
+                        }
+                    })
+                    .concatWith(Mono.fromRunnable(reader::finish));
+        });
+    }
+
+    @Override
+    public Mono<TaskExportDTO> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                            MimeType mimeType, Map<String, Object> hints) {
+        return decode(inputStream, elementType, mimeType, hints).singleOrEmpty();
+    }
+
+    @Override
+    public List<MimeType> getDecodableMimeTypes() {
+        return List.of(TEXT_CSV);
+    }
+
+    // Bounds a single record, whether it is one line or several joined by a quoted field.
+    public void setMaxInMemorySize(int maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+        lineDecoder.setMaxInMemorySize(maxInMemorySize);
+    }
+
+    private final class CsvReader {
+
+        private int[] positions;
+        private StringBuilder record;
+        private boolean quoted;
+
+        TaskExportDTO read(String line) {
+            if (record == null) {
+                if (line.isEmpty() || line.equals("\r")) {
+                    return null;
+                }
+                record = new StringBuilder(line);
+            } else {
+                record.append('\n').append(line);
+            }
+            if (record.length() > maxInMemorySize) {
+                throw new DataBufferLimitException("Exceeded limit on max bytes per CSV record: " + maxInMemorySize);
+            }
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') {
+                    quoted = !quoted;
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            int end = record.length() > 0 && record.charAt(record.length() - 1) == '\r' ? record.length() - 1 : record.length();
+            List<String> fields = parse(record.substring(0, end));
+            record = null;
+            if (positions == null) {
+                positions = header(fields);
+                return null;
+            }
+            return new TaskExportDTO(null, field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3), null);
+        }
+
+        void finish() {
+            if (record != null) {
+                throw new DecodingException(CSV_QUOTE_IS_NOT_CLOSED);
+            }
+        }
+
+        private int[] header(List<String> names) {
+            int[] header = new int[COLUMNS.size()];
+            Arrays.fill(header, -1);
+            // Spreadsheets may put a byte order mark before the first name; "user_email" is read as userEmail.
+            for (int position = 0; position < names.size(); position++) {
+                String name = names.get(position).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+                int column = COLUMNS.indexOf(name);
+                if (column >= 0) {
+                    header[column] = position;
+                }
+            }
+            if (header[0] < 0) {
+                throw new DecodingException(CSV_HEADER_IS_REQUIRED);
+            }
+            return header;
+        }
+
+        private String field(List<String> fields, int column) {
+            int position = positions[column];
+            return position >= 0 && position < fields.size() ? fields.get(position) : null;
+        }
+    }
+
+    private static List<String> parse(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.config.TaskBatchProperties;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Writes the rows of GET /export as NDJSON or CSV, one task.batch.chunk-size batch per buffer taken from the
+// response's (pooled) buffer factory. Only one batch is requested from the cursor at a time, so memory does not
+// grow with the number of tasks. With gzip, every batch is compressed and sync-flushed into its own buffer,
+// and the last one carries the gzip trailer.
+@Component
+public class TaskExportWriter {
+
+    static final String CSV_HEADER = "id,title,description,status,userEmail,version\n";
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int ROW_SIZE_ESTIMATE = 128;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TaskBatchProperties taskBatchProperties;
+
+    public TaskExportWriter(ObjectMapper objectMapper, TaskBatchProperties taskBatchProperties) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(TaskExportDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.taskBatchProperties = taskBatchProperties;
+    }
+
+    public Flux<DataBuffer> write(Flux<TaskExportDTO> tasks, boolean csv, boolean gzip, DataBufferFactory bufferFactory) {
+        return Flux.using(() -> new Export(csv, gzip, bufferFactory),
+                        export -> tasks.buffer(taskBatchProperties.getChunkSize())
+                                .limitRate(1)
+                                .map(export::write)
+                                .concatWith(Mono.fromCallable(export::finish)),
+                        Export::close)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private final class Export {
+
+        private final boolean csv;
+        private final DataBufferFactory bufferFactory;
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private boolean started;
+
+        Export(boolean csv, boolean gzip, DataBufferFactory bufferFactory) {
+            this.csv = csv;
+            this.bufferFactory = bufferFactory;
+            this.deflater = gzip ? new Deflater(Deflater.DEFAULT_COMPRESSION, true) : null;
+        }
+
+        DataBuffer write(List<TaskExportDTO> tasks) {
+            return next(tasks, false);
+        }
+
+        // Null, and no buffer, when nothing is left to write: a CSV header or the gzip trailer may be.
+        DataBuffer finish() {
+            if (deflater == null && (started || !csv)) {
+                return null;
+            }
+            return next(List.of(), true);
+        }
+
+        void close() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        private DataBuffer next(List<TaskExportDTO> tasks, boolean last) {
+            DataBuffer buffer = bufferFactory.allocateBuffer(Math.max(tasks.size(), 1) * ROW_SIZE_ESTIMATE);
+            try {
+                OutputStream target = buffer.asOutputStream();
+                OutputStream out = target;
+                DeflaterOutputStream deflating = null;
+                if (deflater != null) {
+                    if (!started) {
+                        target.write(GZIP_HEADER);
+                    }
+                    deflating = new DeflaterOutputStream(target, deflater, 8192, true);
+                    out = new CheckedOutputStream(deflating, crc);
+                }
+                if (!started && csv) {
+                    out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+                }
+                started = true;
+                if (csv) {
+                    writeCsv(out, tasks);
+                } else {
+                    writeNdjson(out, tasks);
+                }
+                if (deflating != null && last) {
+                    deflating.finish();
+                    writeIntLittleEndian(target, (int) crc.getValue());
+                    writeIntLittleEndian(target, (int) deflater.getBytesRead());
+                } else if (deflating != null) {
+                    deflating.flush();
+                }
+                return buffer;
+            } catch (IOException | RuntimeException ex) {
+                DataBufferUtils.release(buffer);
+                throw Exceptions.propagate(ex);
+            }
+        }
+    }
+
+    // The generator neither closes nor flushes the stream, which would end or sync-flush the gzip stream per row.
+    private void writeNdjson(OutputStream out, List<TaskExportDTO> tasks) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+            for (TaskExportDTO task : tasks) {
+                rowWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeCsv(OutputStream out, List<TaskExportDTO> tasks) throws IOException {
+        StringBuilder row = new StringBuilder(ROW_SIZE_ESTIMATE);
+        for (TaskExportDTO task : tasks) {
+            row.setLength(0);
+            row.append(csvField(task.getId())).append(',')
+                    .append(csvField(task.getTitle())).append(',')
+                    .append(csvField(task.getDescription())).append(',')
+                    .append(csvField(task.getStatus())).append(',')
+                    .append(csvField(task.getUserEmail())).append(',')
+                    .append(csvField(task.getVersion())).append('\n');
+            out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Quoted, with quotes doubled, when the value holds a separator, a quote or a line break (RFC 4180).
+    static String csvField(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeIntLittleEndian(OutputStream out, int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+}
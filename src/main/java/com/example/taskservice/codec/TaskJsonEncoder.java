@@ -0,0 +1,83 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.dto.TaskResponseDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+// Writes tasks as JSON, a JSON array or NDJSON from the bytes in TaskJsonCache, so a task that was encoded
+// before is never turned back into a Jackson tree. Produces exactly what Jackson2JsonEncoder would.
+public class TaskJsonEncoder implements HttpMessageEncoder<TaskResponseDTO> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final TaskJsonCache taskJsonCache;
+
+    public TaskJsonEncoder(TaskJsonCache taskJsonCache) {
+        this.taskJsonCache = taskJsonCache;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return TaskResponseDTO.class.isAssignableFrom(elementType.toClass())
+                && (mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType)));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends TaskResponseDTO> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                    .map(task -> encodeValue(task, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        if (mimeType != null && MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mimeType)) {
+            return Flux.from(inputStream).map(task -> write(bufferFactory, null, taskJsonCache.get(task), (byte) '\n'));
+        }
+        // One buffer per task, carrying the bracket or comma in front of it, then the closing bracket.
+        return Flux.from(inputStream)
+                .index((index, task) -> write(bufferFactory, index == 0 ? (byte) '[' : (byte) ',', taskJsonCache.get(task), null))
+                .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory.wrap(ARRAY_START)))
+                .concatWith(Mono.fromSupplier(() -> bufferFactory.wrap(ARRAY_END)));
+    }
+
+    @Override
+    public DataBuffer encodeValue(TaskResponseDTO value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return bufferFactory.wrap(taskJsonCache.get(value));
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return List.of(MediaType.APPLICATION_NDJSON);
+    }
+
+    private static DataBuffer write(DataBufferFactory bufferFactory, Byte prefix, byte[] json, Byte suffix) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(json.length + 2);
+        if (prefix != null) {
+            buffer.write(prefix);
+        }
+        buffer.write(json);
+        if (suffix != null) {
+            buffer.write(suffix);
+        }
+        return buffer;
+    }
+}
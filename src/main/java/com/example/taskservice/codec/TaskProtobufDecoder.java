@@ -0,0 +1,77 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.mapper.TaskProtobufMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.codec.protobuf.ProtobufDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.taskservice.commons.Constants.APPLICATION_PROTOBUF_VALUE;
+
+// Reads request bodies sent as the Protobuf messages of task.proto into the DTOs the controller validates.
+// A stream of items (POST /batch) is read as length-delimited messages.
+public class TaskProtobufDecoder implements HttpMessageDecoder<Object> {
+
+    private static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    private final ProtobufDecoder delegate = new ProtobufDecoder();
+    private final TaskProtobufMapper taskProtobufMapper;
+
+    public TaskProtobufDecoder(TaskProtobufMapper taskProtobufMapper) {
+        this.taskProtobufMapper = taskProtobufMapper;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null && APPLICATION_PROTOBUF.isCompatibleWith(mimeType)
+                && taskProtobufMapper.getMessageType(elementType.toClass()) != null;
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+        return delegate.decode(inputStream, messageType(elementType), mimeType, hints)
+                .map(taskProtobufMapper::fromMessage);
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                     MimeType mimeType, Map<String, Object> hints) {
+        return delegate.decodeToMono(inputStream, messageType(elementType), mimeType, hints)
+                .map(taskProtobufMapper::fromMessage);
+    }
+
+    @Override
+    public Object decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType, Map<String, Object> hints) {
+        return taskProtobufMapper.fromMessage(delegate.decode(buffer, messageType(targetType), mimeType, hints));
+    }
+
+    @Override
+    public List<MimeType> getDecodableMimeTypes() {
+        return List.of(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    public Map<String, Object> getDecodeHints(ResolvableType actualType, ResolvableType elementType,
+                                              ServerHttpRequest request, ServerHttpResponse response) {
+        return Map.of();
+    }
+
+    public void setMaxMessageSize(int maxMessageSize) {
+        delegate.setMaxMessageSize(maxMessageSize);
+    }
+
+    private ResolvableType messageType(ResolvableType elementType) {
+        return ResolvableType.forClass(taskProtobufMapper.getMessageType(elementType.toClass()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.mapper.TaskProtobufMapper;
+import com.google.protobuf.Message;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.codec.protobuf.ProtobufEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.taskservice.commons.Constants.APPLICATION_PROTOBUF_VALUE;
+
+// Writes the DTOs of the API as the Protobuf messages of task.proto. A single value is one message;
+// a stream is written as length-delimited messages, so lists are still sent as they are read.
+public class TaskProtobufEncoder implements HttpMessageEncoder<Object> {
+
+    private static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+    private static final ResolvableType MESSAGE_TYPE = ResolvableType.forClass(Message.class);
+
+    private final ProtobufEncoder delegate = new ProtobufEncoder();
+    private final TaskProtobufMapper taskProtobufMapper;
+
+    public TaskProtobufEncoder(TaskProtobufMapper taskProtobufMapper) {
+        this.taskProtobufMapper = taskProtobufMapper;
+    }
+
+    // Claiming Object with no media type files this with the object writers after Jackson, like the CBOR encoder,
+    // so JSON stays the default and error bodies, which are negotiated without the route's "produces", can be Protobuf.
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        if (mimeType == null) {
+            return type == Object.class || taskProtobufMapper.canWrite(type);
+        }
+        return APPLICATION_PROTOBUF.isCompatibleWith(mimeType) && taskProtobufMapper.canWrite(type);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        Publisher<Message> messages = inputStream instanceof Mono
+                ? Mono.from(inputStream).map(taskProtobufMapper::toMessage)
+                : Flux.from(inputStream).map(taskProtobufMapper::toMessage);
+        return delegate.encode(messages, bufferFactory, MESSAGE_TYPE, mimeType, hints);
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return delegate.encodeValue(taskProtobufMapper.toMessage(value), bufferFactory, MESSAGE_TYPE, mimeType, hints);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return List.of(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return delegate.getStreamingMediaTypes();
+    }
+}
@@ -10,6 +10,7 @@ public class Constants  {
 
     public static final String IS_REQUIRED = " is required and cannot be empty or blank.";
     public static final String IS_NOT_VALID = " is not valid.";
+    public static final String CANNOT_BE_BLANK = " cannot be empty or blank.";
 
     public static final String TITLE_IS_REQUIRED = TITLE + IS_REQUIRED;
     public static final String DESCRIPTION_IS_REQUIRED = DESCRIPTION + IS_REQUIRED;
@@ -18,6 +19,42 @@ public class Constants  {
 
     public static final String USER_EMAIL_IS_NOT_VALID = USER_EMAIL + IS_NOT_VALID;
 
+    public static final String TITLE_CANNOT_BE_BLANK = TITLE + CANNOT_BE_BLANK;
+    public static final String DESCRIPTION_CANNOT_BE_BLANK = DESCRIPTION + CANNOT_BE_BLANK;
+    public static final String STATUS_CANNOT_BE_BLANK = STATUS + CANNOT_BE_BLANK;
+    public static final String PATCH_IS_EMPTY = "At least one of title, description or status is required.";
+
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Media types
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    // Import
+    public static final int MAX_IMPORT_FAILURES = 100;
+
+    public static final String CURSOR_IS_NOT_VALID = "Cursor" + IS_NOT_VALID;
+    public static final String SEARCH_QUERY_IS_REQUIRED = "Search query" + IS_REQUIRED;
+    public static final String LIMIT_IS_NOT_VALID = "Limit must be between 1 and " + MAX_PAGE_SIZE + ".";
+    public static final String FIELDS_ARE_NOT_VALID = "Fields must be a comma-separated list of title, description and status.";
+
+    public static final String REQUEST_BODY_IS_REQUIRED = "Request body is required.";
+    public static final String IDS_ARE_REQUIRED = "Ids are required and cannot be empty.";
+    public static final String TOO_MANY_PENDING_TASKS = "Too many tasks are waiting to be created, please retry later.";
+    public static final String TOO_MANY_IDS = "At most " + MAX_PAGE_SIZE + " ids can be requested at once.";
+    public static final String TOO_MANY_REQUESTS = "Too many requests for this user, please retry later.";
+    public static final String CSV_HEADER_IS_REQUIRED = "CSV header row with a title column" + IS_REQUIRED;
+    public static final String CSV_QUOTE_IS_NOT_CLOSED = "CSV quoted field is not closed before the end of the body.";
+    public static final String SERVICE_IS_OVERLOADED = "The service is overloaded, please retry later.";
+
     // Exception messages
     public static final String TASK_NOT_FOUND_ID = "Task not found with Id: ";
+    public static final String TASK_VERSION_CONFLICT_ID = "Task was modified by another request, Id: ";
+    public static final String EXPECTED_VERSION = ", expected version: ";
+    public static final String IF_MATCH_IS_NOT_VALID = "If-Match header" + IS_NOT_VALID;
+    public static final String IDEMPOTENCY_KEY_IS_NOT_VALID = "Idempotency-Key header must have between 1 and 255 characters.";
+    public static final String IDEMPOTENCY_KEY_WAS_REUSED = "Idempotency-Key was already used for a different request: ";
 }
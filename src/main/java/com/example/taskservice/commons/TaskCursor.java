@@ -0,0 +1,58 @@
+package com.example.taskservice.commons;
+
+import com.example.taskservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.example.taskservice.commons.Constants.CURSOR_IS_NOT_VALID;
+
+public final class TaskCursor {
+
+    private static final String PREFIX = "id:";
+    private static final String OFFSET_PREFIX = "offset:";
+
+    private TaskCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return encode(PREFIX, lastId);
+    }
+
+    public static Long decode(String cursor) {
+        return decode(PREFIX, cursor);
+    }
+
+    // Ranked results have no stable key to continue from, so their cursor carries an offset instead.
+    public static String encodeOffset(long offset) {
+        return encode(OFFSET_PREFIX, offset);
+    }
+
+    public static long decodeOffset(String cursor) {
+        long offset = decode(OFFSET_PREFIX, cursor);
+        if (offset < 0) {
+            throw new BadRequestException(CURSOR_IS_NOT_VALID);
+        }
+        return offset;
+    }
+
+    private static String encode(String prefix, long value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefix + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decode(String prefix, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(prefix)) {
+                throw new BadRequestException(CURSOR_IS_NOT_VALID);
+            }
+            return Long.parseLong(decoded.substring(prefix.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(CURSOR_IS_NOT_VALID);
+        }
+    }
+}
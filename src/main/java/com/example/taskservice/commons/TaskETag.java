@@ -0,0 +1,49 @@
+package com.example.taskservice.commons;
+
+import com.example.taskservice.exception.BadRequestException;
+
+import static com.example.taskservice.commons.Constants.IF_MATCH_IS_NOT_VALID;
+
+public final class TaskETag {
+
+    private static final String ANY = "*";
+
+    private TaskETag() {
+    }
+
+    public static String of(Long version) {
+        return of(version, null);
+    }
+
+    // A task sent as CBOR or Protobuf is another representation than its JSON, so it gets another tag as well.
+    public static String of(Long version, String representation) {
+        return ofList(String.valueOf(version), representation);
+    }
+
+    // The same list as a JSON array, NDJSON, CBOR or Protobuf are different representations, so they get different tags.
+    public static String ofList(String version, String representation) {
+        return "\"" + version + (representation != null ? "-" + representation : "") + "\"";
+    }
+
+    // Returns the version a conditional write expects, or null when any version may be overwritten. The tag of
+    // any representation of the task names the same version. Weak validators are rejected because If-Match
+    // requires strong comparison.
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int representation = tag.indexOf('-');
+        if (representation > 0) {
+            tag = tag.substring(0, representation);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(IF_MATCH_IS_NOT_VALID);
+        }
+    }
+}
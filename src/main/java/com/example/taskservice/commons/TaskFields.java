@@ -0,0 +1,65 @@
+package com.example.taskservice.commons;
+
+import com.example.taskservice.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.taskservice.commons.Constants.FIELDS_ARE_NOT_VALID;
+
+// The columns a sparse fieldset (?fields=title,status) reads. The ID and version are always read: the ID is the
+// paging key and the version the ETag. Only these names reach the SQL, so nothing else from the request does.
+public final class TaskFields {
+
+    private static final List<String> SELECTABLE = List.of("title", "description", "status");
+    private static final Set<String> ALWAYS_SELECTED = Set.of("id", "version");
+
+    public static final TaskFields ALL = new TaskFields(SELECTABLE);
+
+    private final List<String> fields;
+
+    private TaskFields(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public static TaskFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+        for (String field : requested) {
+            if (!SELECTABLE.contains(field) && !ALWAYS_SELECTED.contains(field)) {
+                throw new BadRequestException(FIELDS_ARE_NOT_VALID);
+            }
+        }
+        // Kept in a fixed order, so the same fieldset always gives the same SQL and the same ETag.
+        return new TaskFields(SELECTABLE.stream().filter(requested::contains).toList());
+    }
+
+    public boolean isAll() {
+        return fields.size() == SELECTABLE.size();
+    }
+
+    public String toColumns() {
+        return "id, version" + fields.stream().map(field -> ", " + field).collect(Collectors.joining());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TaskFields taskFields && fields.equals(taskFields.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "id,version" + fields.stream().map(field -> "," + field).collect(Collectors.joining());
+    }
+}
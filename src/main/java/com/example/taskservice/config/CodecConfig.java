@@ -0,0 +1,67 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.codec.CborArrayDecoder;
+import com.example.taskservice.codec.CborArrayEncoder;
+import com.example.taskservice.codec.TaskCsvDecoder;
+import com.example.taskservice.codec.TaskJsonEncoder;
+import com.example.taskservice.codec.TaskProtobufDecoder;
+import com.example.taskservice.codec.TaskProtobufEncoder;
+import com.example.taskservice.mapper.TaskProtobufMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.ResourceHandlerRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+@AllArgsConstructor
+public class CodecConfig implements WebFluxConfigurer {
+
+    private final TaskJsonCache taskJsonCache;
+    private final TaskProtobufMapper taskProtobufMapper;
+    private final ObjectMapper objectMapper;
+    private final Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder;
+
+    // Custom encoders are consulted before the default Jackson one, so every TaskResponseDTO body goes through the cache.
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new TaskJsonEncoder(taskJsonCache));
+
+        // Custom object writers also come before the default Jackson one. Repeating it here, ahead of the binary
+        // encoders, keeps JSON what "Accept: */*" gets for bodies negotiated without "produces", such as errors.
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+
+        // Same modules and settings as the JSON mapper, so CBOR carries exactly the fields JSON does.
+        ObjectMapper cborMapper = jacksonObjectMapperBuilder.factory(new CBORFactory()).build();
+        configurer.customCodecs().register(new CborArrayEncoder(cborMapper));
+        configurer.customCodecs().registerWithDefaultConfig(new CborArrayDecoder(cborMapper));
+
+        TaskProtobufDecoder protobufDecoder = new TaskProtobufDecoder(taskProtobufMapper);
+        configurer.customCodecs().register(new TaskProtobufEncoder(taskProtobufMapper));
+        configurer.customCodecs().registerWithDefaultConfig(protobufDecoder, config -> {
+            if (config.maxInMemorySize() != null) {
+                protobufDecoder.setMaxMessageSize(config.maxInMemorySize());
+            }
+        });
+
+        // CSV uploads (POST /import) are read a record at a time; the max in-memory size bounds one record.
+        TaskCsvDecoder csvDecoder = new TaskCsvDecoder();
+        configurer.customCodecs().registerWithDefaultConfig(csvDecoder, config -> {
+            if (config.maxInMemorySize() != null) {
+                csvDecoder.setMaxInMemorySize(config.maxInMemorySize());
+            }
+        });
+    }
+
+    // Publishes the Protobuf schema the binary bodies follow.
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/api/tasks/schema/**")
+                .addResourceLocations("classpath:/schema/");
+    }
+}
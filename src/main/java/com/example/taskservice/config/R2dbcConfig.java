@@ -0,0 +1,28 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.metrics.TimedConnectionFactory;
+import com.example.taskservice.repository.TaskReplicaRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class R2dbcConfig {
+
+    // A fetch size makes drivers such as r2dbc-postgresql read results through a cursor in chunks
+    // instead of pulling the whole result set, so streamed responses keep end-to-end backpressure.
+    // Connections are taken through TimedConnectionFactory so the time spent waiting on the pool is recorded.
+    // With task.replica.enabled, TaskReplicaRouter sends the reads it marks to the replica.
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+                                         TaskReplicaRouter taskReplicaRouter,
+                                         @Value("${task.r2dbc.fetch-size:256}") int fetchSize) {
+        return DatabaseClient.builder()
+                .connectionFactory(new TimedConnectionFactory(taskReplicaRouter.route(connectionFactory), meterRegistry))
+                .executeFunction(statement -> statement.fetchSize(fetchSize).execute())
+                .build();
+    }
+}
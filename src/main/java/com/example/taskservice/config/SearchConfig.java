@@ -0,0 +1,30 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskShardConnectionFactory;
+import com.example.taskservice.repository.TaskSqlDialect;
+import com.example.taskservice.search.InMemoryTaskSearchEngine;
+import com.example.taskservice.search.PostgresTaskSearchEngine;
+import com.example.taskservice.search.TaskSearchEngine;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class SearchConfig {
+
+    // PostgreSQL searches its own tsvector/GIN index; H2 has no equivalent, so it gets the in-process index.
+    // Behind shards, PostgreSQL searches the index of every shard it needs.
+    @Bean
+    public TaskSearchEngine taskSearchEngine(ConnectionFactory connectionFactory, DatabaseClient databaseClient,
+                                             R2dbcConverter converter, TaskRepository taskRepository) {
+        if (TaskSqlDialect.of(connectionFactory) == TaskSqlDialect.POSTGRES) {
+            return connectionFactory instanceof TaskShardConnectionFactory shards
+                    ? new PostgresTaskSearchEngine(databaseClient, converter, shards)
+                    : new PostgresTaskSearchEngine(databaseClient, converter);
+        }
+        return new InMemoryTaskSearchEngine(taskRepository);
+    }
+}
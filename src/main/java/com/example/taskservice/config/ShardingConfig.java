@@ -0,0 +1,78 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.repository.ShardedTaskRepository;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskRepositoryCustomImpl;
+import com.example.taskservice.repository.TaskShardConnectionFactory;
+import com.example.taskservice.repository.TaskShardSchemaInitializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the single spring.r2dbc connection factory with one pool per task.shards.urls entry behind a router,
+// and the task repository with one that sends every call to the shards holding its rows.
+@Configuration
+@ConditionalOnProperty(prefix = "task.shards", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    // Pools are built the way Spring Boot builds its own, with its decorators (query observation) and metrics.
+    @Bean
+    public TaskShardConnectionFactory connectionFactory(TaskShardProperties properties,
+                                                       ObjectProvider<ConnectionFactoryDecorator> decorators,
+                                                       MeterRegistry meterRegistry) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("task.shards.urls must list at least one database");
+        }
+        List<ConnectionFactory> shards = new ArrayList<>();
+        for (int shard = 0; shard < properties.getUrls().size(); shard++) {
+            ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrls().get(shard))
+                    .decorators(decorators.orderedStream().toList());
+            if (properties.getUsername() != null) {
+                builder.username(properties.getUsername());
+            }
+            if (properties.getPassword() != null) {
+                builder.password(properties.getPassword());
+            }
+            ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(builder.build()).build());
+            new ConnectionPoolMetrics(pool, "shard-" + shard, Tags.empty()).bindTo(meterRegistry);
+            shards.add(pool);
+        }
+        return new TaskShardConnectionFactory(shards);
+    }
+
+    // Takes the place of Spring Boot's initializer, which would run the scripts on the router.
+    @Bean
+    public TaskShardSchemaInitializer taskShardSchemaInitializer(TaskShardConnectionFactory connectionFactory,
+                                                                 ObjectProvider<SqlInitializationProperties> properties) {
+        return new TaskShardSchemaInitializer(connectionFactory, properties.getIfAvailable(SqlInitializationProperties::new));
+    }
+
+    // The per-shard repository is built here rather than taken from the context, so TaskMetricsAspect times
+    // each call once on the sharded repository and not again for every shard it reaches.
+    @Bean
+    @Primary
+    public TaskRepository shardedTaskRepository(R2dbcEntityTemplate entityTemplate,
+                                                TaskShardConnectionFactory connectionFactory) {
+        TaskRepository shardRepository = new R2dbcRepositoryFactory(entityTemplate).getRepository(TaskRepository.class,
+                RepositoryFragments.just(new TaskRepositoryCustomImpl(entityTemplate.getDatabaseClient(),
+                        entityTemplate.getConverter())));
+        return new ShardedTaskRepository(shardRepository, connectionFactory);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "task.admission")
+public class TaskAdmissionProperties {
+
+    private boolean enabled = true;
+    // Sustained requests per second per user, and how many more a user who has been idle may send at once.
+    private double rate = 50;
+    private int burst = 100;
+    private long maximumUsers = 100000;
+    // Requests being served at once, not counting followers of /api/tasks/changes.
+    private int maxConcurrent = 512;
+    // Requests waiting for a database connection beyond which new requests are turned away.
+    private int maxPendingConnections = 64;
+}
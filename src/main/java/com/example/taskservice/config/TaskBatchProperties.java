@@ -0,0 +1,15 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "task.batch")
+public class TaskBatchProperties {
+
+    // Each row binds four parameters; PostgreSQL accepts at most 65535 per statement.
+    private int chunkSize = 500;
+
+    // Ids bound per DELETE ... IN (...) statement of a bulk delete.
+    private int deleteChunkSize = 5_000;
+}
@@ -0,0 +1,15 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.changes")
+public class TaskChangeFeedProperties {
+
+    private int bufferSize = 1000;
+    private int maxPending = 256;
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
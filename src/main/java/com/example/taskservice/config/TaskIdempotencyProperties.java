@@ -0,0 +1,16 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.idempotency")
+public class TaskIdempotencyProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 100_000;
+    // How long a client may keep retrying a write and still get its first response back.
+    private Duration ttl = Duration.ofHours(24);
+}
@@ -0,0 +1,16 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.insert-batch")
+public class TaskInsertBatchProperties {
+
+    private boolean enabled = false;
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+    private int capacity = 10_000;
+}
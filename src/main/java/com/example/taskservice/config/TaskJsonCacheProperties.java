@@ -0,0 +1,13 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "task.json-cache")
+public class TaskJsonCacheProperties {
+
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+}
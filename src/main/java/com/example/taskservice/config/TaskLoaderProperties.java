@@ -0,0 +1,15 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.loader")
+public class TaskLoaderProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+}
@@ -0,0 +1,21 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.replica")
+public class TaskReplicaProperties {
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    // How long a written user or task keeps reading from the primary. It has to cover the replication lag.
+    private Duration stickiness = Duration.ofSeconds(5);
+    // Users and tasks remembered as recently written, each.
+    private long maximumSize = 100000;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,19 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "task.shards")
+public class TaskShardProperties {
+
+    private boolean enabled = false;
+    // One R2DBC URL per shard. Users are assigned by a hash modulo their number, so it cannot change
+    // without moving their rows.
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+}
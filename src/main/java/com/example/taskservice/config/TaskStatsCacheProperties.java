@@ -0,0 +1,16 @@
+package com.example.taskservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "task.stats-cache")
+public class TaskStatsCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    // Bounds how stale counts can get when another instance changed the tasks.
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -1,7 +1,20 @@
 package com.example.taskservice.controller;
 
+import com.example.taskservice.cache.TaskIdempotencyStore;
+import com.example.taskservice.codec.TaskExportWriter;
+import com.example.taskservice.commons.TaskETag;
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.config.TaskChangeFeedProperties;
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.example.taskservice.dto.TaskImportResultDTO;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
 import com.example.taskservice.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,21 +26,40 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
+
+import static com.example.taskservice.commons.Constants.APPLICATION_PROTOBUF_VALUE;
+import static com.example.taskservice.commons.Constants.DEFAULT_PAGE_SIZE;
+import static com.example.taskservice.commons.Constants.NEXT_CURSOR_HEADER;
+import static com.example.taskservice.commons.Constants.TEXT_CSV_VALUE;
 
 @Slf4j
 @RestController
@@ -36,9 +68,21 @@ import java.util.Objects;
 @Tag(name = "TaskController", description = "Operations related to task management")
 public class TaskController {
 
+    private static final Map<MediaType, String> LIST_REPRESENTATIONS = Map.of(
+            MediaType.APPLICATION_NDJSON, "ndjson",
+            MediaType.APPLICATION_CBOR, "cbor",
+            MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE), "protobuf");
+    private static final Map<MediaType, String> TASK_REPRESENTATIONS = Map.of(
+            MediaType.APPLICATION_CBOR, "cbor",
+            MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE), "protobuf");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
     private final TaskService taskService;
+    private final TaskChangeFeedProperties taskChangeFeedProperties;
+    private final TaskIdempotencyStore taskIdempotencyStore;
+    private final TaskExportWriter taskExportWriter;
 
-    @PostMapping
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
     @Operation(summary = "Create Task", description = "Creates a new task.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task successfully created.",
@@ -47,29 +91,124 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Invalid input.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Invalid task data."))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Idempotency-Key was already used for a different request."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "An error occurred while processing your request.")))
     })
     public Mono<ResponseEntity<TaskResponseDTO>> createTask(
             ServerWebExchange exchange,
+            @RequestHeader(value = TaskIdempotencyStore.HEADER, required = false)
+            @Parameter(description = "Key naming this write across retries; a retry with the same key gets the first response back",
+                    example = "4f9c2b1e-7d3a-4c55-9e0b-2a6f8d1c3e70") String idempotencyKey,
             @RequestBody
             @Parameter(description = "Task data for the new task", required = true) @Valid TaskRequestDTO taskRequestDTO) {
         String userEmail = getUserEmailFromExchange(exchange);
         log.info("Received request to create task: {}", taskRequestDTO);
-        return taskService.createTask(userEmail, taskRequestDTO)
-                .map(createdTask -> ResponseEntity.status(HttpStatus.CREATED).body(createdTask))
+        return idempotent(exchange, idempotencyKey, taskRequestDTO, () -> taskService.createTask(userEmail, taskRequestDTO)
+                        .map(createdTask -> ResponseEntity.status(HttpStatus.CREATED).body(createdTask)))
                 .doOnSuccess(response -> log.info("Task created successfully with ID: {}", Objects.requireNonNull(response.getBody()).getId()))
                 .doOnError(error -> log.error("Failed to create task: {}", error.getMessage(), error));
     }
 
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Create Tasks in Batch",
+            description = "Creates the tasks of a JSON array or NDJSON stream and reports the outcome of each item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; each item reports CREATED or FAILED.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed request body.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Failed to read HTTP message"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<Flux<TaskBatchResultDTO>>> createTasks(
+            ServerWebExchange exchange,
+            @RequestBody
+            @Parameter(description = "Tasks to create, as a JSON array or NDJSON stream", required = true) Flux<TaskRequestDTO> taskRequestDTOs) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        log.info("Received request to create tasks in batch for user with email: {}", userEmail);
+        return Mono.just(ResponseEntity.ok(taskService.createTasks(userEmail, taskRequestDTOs)
+                .doOnComplete(() -> log.info("Batch of tasks processed successfully for email {}", userEmail))
+                .doOnError(error -> log.error("Failed to create tasks in batch: {}", error.getMessage(), error))));
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(summary = "Export Tasks",
+            description = "Streams every task with its owner as NDJSON or CSV, gzip-compressed when the client accepts gzip.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed as an attachment.",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = TaskExportDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "An error occurred while processing your request.")))
+    })
+    public Mono<Void> exportTasks(ServerWebExchange exchange) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        boolean csv = isCsvAccepted(exchange);
+        boolean gzip = isGzipAccepted(exchange);
+        log.info("Received request to export all tasks as {} (gzip: {})", csv ? "CSV" : "NDJSON", gzip);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON);
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                .filename(csv ? "tasks.csv" : "tasks.ndjson")
+                .build());
+        response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.writeWith(taskExportWriter.write(taskService.exportTasks(userEmail), csv, gzip, response.bufferFactory()))
+                .doOnSuccess(done -> log.info("All tasks exported successfully"))
+                .doOnError(error -> log.error("Failed to export tasks: {}", error.getMessage(), error));
+    }
+
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(summary = "Import Tasks",
+            description = "Creates the tasks of an NDJSON or CSV upload, as written by the export, in batched inserts. "
+                    + "Tasks get new IDs; rows without a user email go to the importing user.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload processed; counts and the first failures are returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed request body.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Failed to read HTTP message"))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<TaskImportResultDTO>> importTasks(
+            ServerWebExchange exchange,
+            @RequestBody
+            @Parameter(description = "Tasks to import, as an NDJSON stream or a CSV file with a header row", required = true)
+            Flux<TaskExportDTO> taskExportDTOs) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        log.info("Received request to import tasks for user with email: {}", userEmail);
+        return taskService.importTasks(userEmail, taskExportDTOs)
+                .map(ResponseEntity::ok)
+                .doOnSuccess(response -> log.info("Tasks imported successfully: {}", response.getBody()))
+                .doOnError(error -> log.error("Failed to import tasks: {}", error.getMessage(), error));
+    }
 
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
     @Operation(summary = "Get Task by ID", description = "Returns task information based on the provided ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the ETag given in If-None-Match."),
             @ApiResponse(responseCode = "404", description = "Task not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Task not found."))),
@@ -79,108 +218,506 @@ public class TaskController {
                                     example = "An error occurred while processing your request.")))
     })
     public Mono<ResponseEntity<TaskResponseDTO>> getTaskById(
+            ServerWebExchange exchange,
             @PathVariable("id")
-            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id) {
-        log.info("Received request to get task by ID: {}", id);
-        return taskService.getTaskById(id)
-                .map(existingTask -> ResponseEntity.status(HttpStatus.OK).body(existingTask))
+            @Parameter(description = "ID of the task to be retrieved", required = true, example = "1") Long id,
+            @RequestParam(value = "fields", required = false)
+            @Parameter(description = "Comma-separated fields to return among title, description and status; id and version are always returned", example = "title,status") String fields) {
+        log.info("Received request to get task by ID: {} with fields: {}", id, fields);
+        varyOnAccept(exchange);
+        String representation = getRepresentation(exchange, TASK_REPRESENTATIONS, TaskFields.parse(fields));
+        return taskService.getTaskById(id, fields)
+                // A matching If-None-Match turns this into a 304 before the body is written.
+                .map(existingTask -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(TaskETag.of(existingTask.getVersion(), representation))
+                        .body(existingTask))
                 .doOnSuccess(response -> log.info("Task retrieved successfully with ID: {}", id))
                 .doOnError(error -> log.error("Failed to retrieve task: {}", error.getMessage(), error));
     }
 
-    @GetMapping
-    @Operation(summary = "Get All Tasks", description = "Returns all tasks.")
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Get Tasks by IDs", description = "Returns the existing tasks among the given IDs, in the requested order, as a JSON array or as NDJSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "204", description = "None of the tasks exist."),
+            @ApiResponse(responseCode = "400", description = "Missing, invalid or too many IDs.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Ids are required and cannot be empty."))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> getTasksByIds(
+            ServerWebExchange exchange,
+            @RequestParam("ids")
+            @Parameter(description = "Comma-separated IDs of the tasks to be retrieved", required = true, example = "1,2,3") List<Long> ids,
+            @RequestParam(value = "fields", required = false)
+            @Parameter(description = "Comma-separated fields to return among title, description and status; id and version are always returned", example = "title,status") String fields) {
+        log.info("Received request to get {} tasks by ID with fields: {}", ids.size(), fields);
+        varyOnAccept(exchange);
+        return toStreamingResponse(taskService.getTasksByIds(ids, fields))
+                .doOnSuccess(response -> log.info("Tasks retrieved successfully by ID"))
+                .doOnError(error -> log.error("Failed to retrieve tasks by ID: {}", error.getMessage(), error));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Get All Tasks", description = "Streams all tasks as a JSON array or as NDJSON.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks unchanged since the ETag given in If-None-Match."),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Cursor is not valid."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string",
                                     example = "An error occurred while processing your request.")))
     })
-    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> getAllTasks() {
-        log.info("Received request to get all tasks");
-        return taskService.getAllTasks()
-                .collectList()
-                .filter(tasks -> !tasks.isEmpty())
-                .map(tasks -> ResponseEntity.ok(Flux.fromIterable(tasks)))
-                .defaultIfEmpty(ResponseEntity.noContent().build())
+    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> getAllTasks(
+            ServerWebExchange exchange,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Opaque cursor returned in the " + NEXT_CURSOR_HEADER + " header of the previous page") String after,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Maximum number of tasks per page; enables pagination", example = "50") Integer limit,
+            @RequestParam(value = "fields", required = false)
+            @Parameter(description = "Comma-separated fields to return among title, description and status; id and version are always returned", example = "title,status") String fields) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        varyOnAccept(exchange);
+        if (after != null || limit != null) {
+            log.info("Received request to get page of tasks after cursor: {}", after);
+            return taskService.getTasksPage(userEmail, after, Objects.requireNonNullElse(limit, DEFAULT_PAGE_SIZE), fields)
+                    .map(this::toPageResponse)
+                    .doOnSuccess(response -> log.info("Page of tasks retrieved successfully"))
+                    .doOnError(error -> log.error("Failed to retrieve page of tasks: {}", error.getMessage(), error));
+        }
+        log.info("Received request to get all tasks with fields: {}", fields);
+        return toConditionalStreamingResponse(exchange, fields, taskService.getTasksVersion(userEmail),
+                        () -> taskService.getAllTasks(userEmail, fields))
                 .doOnSuccess(response -> log.info("All tasks retrieved successfully"))
                 .doOnError(error -> log.error("Failed to retrieve all tasks: {}", error.getMessage(), error));
     }
 
-    @GetMapping("/my-tasks")
-    @Operation(summary = "Get All Tasks that belongs to an user", description = "Returns all tasks belonging to an user.")
+    @GetMapping(value = "/my-tasks", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Get All Tasks that belongs to an user", description = "Streams all tasks belonging to an user as a JSON array or as NDJSON.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks successfully returned.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks unchanged since the ETag given in If-None-Match."),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Cursor is not valid."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string",
                                     example = "An error occurred while processing your request.")))
     })
-    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> getAllTasksByUserEmail(ServerWebExchange exchange) {
+    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> getAllTasksByUserEmail(
+            ServerWebExchange exchange,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Opaque cursor returned in the " + NEXT_CURSOR_HEADER + " header of the previous page") String after,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Maximum number of tasks per page; enables pagination", example = "50") Integer limit,
+            @RequestParam(value = "fields", required = false)
+            @Parameter(description = "Comma-separated fields to return among title, description and status; id and version are always returned", example = "title,status") String fields) {
         String userEmail = getUserEmailFromExchange(exchange);
-        log.info("Received request to get all tasks for user with email: {}", userEmail);
-        return taskService.getAllTasksByUserEmail(userEmail)
-                .collectList()
-                .filter(tasks -> !tasks.isEmpty())
-                .map(tasks -> ResponseEntity.ok(Flux.fromIterable(tasks)))
-                .defaultIfEmpty(ResponseEntity.noContent().build())
+        varyOnAccept(exchange);
+        if (after != null || limit != null) {
+            log.info("Received request to get page of tasks for user with email: {} after cursor: {}", userEmail, after);
+            return taskService.getTasksPageByUserEmail(userEmail, after, Objects.requireNonNullElse(limit, DEFAULT_PAGE_SIZE), fields)
+                    .map(this::toPageResponse)
+                    .doOnSuccess(response -> log.info("Page of tasks retrieved successfully for email {}", userEmail))
+                    .doOnError(error -> log.error("Failed to retrieve page of tasks: {}", error.getMessage(), error));
+        }
+        log.info("Received request to get all tasks for user with email: {} with fields: {}", userEmail, fields);
+        return toConditionalStreamingResponse(exchange, fields, taskService.getTasksVersionByUserEmail(userEmail),
+                        () -> taskService.getAllTasksByUserEmail(userEmail, fields))
                 .doOnSuccess(response -> log.info("All tasks retrieved successfully for email {}", userEmail))
                 .doOnError(error -> log.error("Failed to retrieve all tasks: {}", error.getMessage(), error));
     }
 
-    @PutMapping("/{id}")
-    @Operation(summary = "Update Task", description = "Updates an existing task.")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Search Tasks", description = "Returns the tasks whose title or description contain every word of the query, best matches first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching tasks successfully returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "204", description = "No task matches the query."),
+            @ApiResponse(responseCode = "400", description = "Missing query, invalid cursor or limit.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Search query is required and cannot be empty or blank."))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> searchTasks(
+            ServerWebExchange exchange,
+            @RequestParam(value = "q", required = false)
+            @Parameter(description = "Words to search for in title and description", required = true, example = "quarterly report") String query,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Opaque cursor returned in the " + NEXT_CURSOR_HEADER + " header of the previous page") String after,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer limit) {
+        log.info("Received request to search tasks for: {}", query);
+        varyOnAccept(exchange);
+        return taskService.searchTasks(query, after, Objects.requireNonNullElse(limit, DEFAULT_PAGE_SIZE))
+                .map(this::toPageResponse)
+                .doOnSuccess(response -> log.info("Matching tasks retrieved successfully"))
+                .doOnError(error -> log.error("Failed to search tasks: {}", error.getMessage(), error));
+    }
+
+    @GetMapping(value = "/my-search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Search Tasks of an user", description = "Searches the tasks belonging to an user, best matches first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching tasks successfully returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "204", description = "No task matches the query."),
+            @ApiResponse(responseCode = "400", description = "Missing query, invalid cursor or limit.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Search query is required and cannot be empty or blank."))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<Flux<TaskResponseDTO>>> searchTasksByUserEmail(
+            ServerWebExchange exchange,
+            @RequestParam(value = "q", required = false)
+            @Parameter(description = "Words to search for in title and description", required = true, example = "quarterly report") String query,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Opaque cursor returned in the " + NEXT_CURSOR_HEADER + " header of the previous page") String after,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Maximum number of tasks per page", example = "50") Integer limit) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        log.info("Received request to search tasks for user with email: {} for: {}", userEmail, query);
+        varyOnAccept(exchange);
+        return taskService.searchTasksByUserEmail(userEmail, query, after, Objects.requireNonNullElse(limit, DEFAULT_PAGE_SIZE))
+                .map(this::toPageResponse)
+                .doOnSuccess(response -> log.info("Matching tasks retrieved successfully for email {}", userEmail))
+                .doOnError(error -> log.error("Failed to search tasks: {}", error.getMessage(), error));
+    }
+
+    @GetMapping(value = "/stats", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Get Task Stats", description = "Returns the number of tasks in each status.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task stats successfully returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<TaskStatsDTO>> getTaskStats(ServerWebExchange exchange) {
+        log.info("Received request to get task stats");
+        varyOnAccept(exchange);
+        return taskService.getTaskStats()
+                .map(stats -> ResponseEntity.status(HttpStatus.OK).body(stats))
+                .doOnSuccess(response -> log.info("Task stats retrieved successfully"))
+                .doOnError(error -> log.error("Failed to retrieve task stats: {}", error.getMessage(), error));
+    }
+
+    @GetMapping(value = "/my-stats", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Get Task Stats of an user", description = "Returns the number of tasks in each status for the user.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task stats successfully returned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<TaskStatsDTO>> getTaskStatsByUserEmail(ServerWebExchange exchange) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        log.info("Received request to get task stats for user with email: {}", userEmail);
+        varyOnAccept(exchange);
+        return taskService.getTaskStatsByUserEmail(userEmail)
+                .map(stats -> ResponseEntity.status(HttpStatus.OK).body(stats))
+                .doOnSuccess(response -> log.info("Task stats retrieved successfully for email {}", userEmail))
+                .doOnError(error -> log.error("Failed to retrieve task stats: {}", error.getMessage(), error));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow Task Changes",
+            description = "Streams the creates, updates and deletes of the user's tasks as Server-Sent Events. "
+                    + "Reconnect with Last-Event-ID to receive the changes missed meanwhile; a RESET event means they "
+                    + "are no longer available and the tasks have to be reloaded.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream opened.",
+                    content = @Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = TaskChangeDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Flux<ServerSentEvent<TaskChangeDTO>> getTaskChanges(
+            ServerWebExchange exchange,
+            @RequestHeader(value = "Last-Event-ID", required = false)
+            @Parameter(description = "ID of the last event received before reconnecting", example = "1729231200000042") String lastEventId) {
+        String userEmail = getUserEmailFromExchange(exchange);
+        log.info("Received request to follow task changes for user with email: {} after event: {}", userEmail, lastEventId);
+        Flux<ServerSentEvent<TaskChangeDTO>> changes = taskService.getTaskChanges(userEmail, lastEventId)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(String.valueOf(change.getId()))
+                        .event(change.getType().name())
+                        .build());
+        // Comments keep idle connections from being closed by proxies, and stop once the changes end.
+        return changes.publish(shared -> Flux.merge(shared, Flux.interval(taskChangeFeedProperties.getHeartbeat())
+                        .map(tick -> ServerSentEvent.<TaskChangeDTO>builder().comment("heartbeat").build())
+                        .takeUntilOther(shared.then())))
+                .doOnError(error -> log.error("Failed to follow task changes: {}", error.getMessage(), error));
+    }
+
+    @PutMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Update Task",
+            description = "Updates an existing task. Send the task version in If-Match to reject the update when the task changed meanwhile.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task successfully updated.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or If-Match header.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "If-Match header is not valid."))),
             @ApiResponse(responseCode = "404", description = "Task not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Task not found."))),
+            @ApiResponse(responseCode = "409", description = "Task version does not match If-Match.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Task was modified by another request."))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Idempotency-Key was already used for a different request."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string",
                                     example = "An error occurred while processing your request.")))
     })
     public Mono<ResponseEntity<TaskResponseDTO>> updateTask(
+            ServerWebExchange exchange,
             @PathVariable("id")
             @Parameter(description = "ID of the task to be updated", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Expected task version", example = "\"3\"") String ifMatch,
+            @RequestHeader(value = TaskIdempotencyStore.HEADER, required = false)
+            @Parameter(description = "Key naming this write across retries; a retry with the same key gets the first response back",
+                    example = "4f9c2b1e-7d3a-4c55-9e0b-2a6f8d1c3e70") String idempotencyKey,
             @RequestBody
             @Parameter(description = "Updated task data", required = true) @Valid TaskRequestDTO taskRequestDTO) {
         log.info("Received request to update task with ID: {}", id);
-        return taskService.updateTask(id, taskRequestDTO)
-                .map(updatedTask -> ResponseEntity.status(HttpStatus.OK).body(updatedTask))
+        Long expectedVersion = TaskETag.parseIfMatch(ifMatch);
+        return idempotent(exchange, idempotencyKey, taskRequestDTO, () -> taskService.updateTask(id, taskRequestDTO, expectedVersion)
+                        .map(updatedTask -> ResponseEntity.status(HttpStatus.OK)
+                                .eTag(TaskETag.of(updatedTask.getVersion(), getRepresentation(exchange, TASK_REPRESENTATIONS, TaskFields.ALL)))
+                                .body(updatedTask)))
                 .doOnSuccess(response -> log.info("Task updated successfully with ID: {}", id))
                 .doOnError(error -> log.error("Failed to update task: {}", error.getMessage(), error));
     }
 
-    @DeleteMapping("/{id}")
+    @PatchMapping(value = "/{id}",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json",
+                    MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Patch Task",
+            description = "Updates only the fields present in the request. Send the task version in If-Match to reject the change when the task changed meanwhile.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task successfully patched.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input, empty patch or invalid If-Match header.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Status cannot be empty or blank."))),
+            @ApiResponse(responseCode = "404", description = "Task not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Task not found."))),
+            @ApiResponse(responseCode = "409", description = "Task version does not match If-Match.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Task was modified by another request."))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Idempotency-Key was already used for a different request."))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<TaskResponseDTO>> patchTask(
+            ServerWebExchange exchange,
+            @PathVariable("id")
+            @Parameter(description = "ID of the task to be patched", required = true, example = "1") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "Expected task version", example = "\"3\"") String ifMatch,
+            @RequestHeader(value = TaskIdempotencyStore.HEADER, required = false)
+            @Parameter(description = "Key naming this write across retries; a retry with the same key gets the first response back",
+                    example = "4f9c2b1e-7d3a-4c55-9e0b-2a6f8d1c3e70") String idempotencyKey,
+            @RequestBody
+            @Parameter(description = "Fields to change; absent fields are left untouched", required = true) @Valid TaskPatchRequestDTO taskPatchRequestDTO) {
+        log.info("Received request to patch task with ID: {}", id);
+        Long expectedVersion = TaskETag.parseIfMatch(ifMatch);
+        return idempotent(exchange, idempotencyKey, taskPatchRequestDTO, () -> taskService.patchTask(id, taskPatchRequestDTO, expectedVersion)
+                        .map(patchedTask -> ResponseEntity.status(HttpStatus.OK)
+                                .eTag(TaskETag.of(patchedTask.getVersion(), getRepresentation(exchange, TASK_REPRESENTATIONS, TaskFields.ALL)))
+                                .body(patchedTask)))
+                .doOnSuccess(response -> log.info("Task patched successfully with ID: {}", id))
+                .doOnError(error -> log.error("Failed to patch task: {}", error.getMessage(), error));
+    }
+
+    @DeleteMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
     @Operation(summary = "Delete Task", description = "Deletes an existing task.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Task successfully deleted."),
             @ApiResponse(responseCode = "404", description = "Task not found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string", example = "Task not found."))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Idempotency-Key was already used for a different request."))),
             @ApiResponse(responseCode = "500", description = "Internal server error.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(type = "string",
                                     example = "An error occurred while processing your request.")))
     })
     public Mono<ResponseEntity<Object>> deleteTask(
+            ServerWebExchange exchange,
             @PathVariable("id")
-            @Parameter(description = "ID of the task to be deleted", required = true, example = "1") Long id) {
+            @Parameter(description = "ID of the task to be deleted", required = true, example = "1") Long id,
+            @RequestHeader(value = TaskIdempotencyStore.HEADER, required = false)
+            @Parameter(description = "Key naming this write across retries; a retry with the same key gets the first response back",
+                    example = "4f9c2b1e-7d3a-4c55-9e0b-2a6f8d1c3e70") String idempotencyKey) {
         log.info("Received request to delete task with ID: {}", id);
-        return taskService.deleteTask(id)
-                .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).build()))
+        return idempotent(exchange, idempotencyKey, null, () -> taskService.deleteTask(id)
+                        .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).build())))
                 .doOnSuccess(response -> log.info("Task deleted successfully with ID: {}", id))
                 .doOnError(error -> log.error("Failed to delete task: {}", error.getMessage(), error));
     }
 
+    @DeleteMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_PROTOBUF_VALUE})
+    @Operation(summary = "Delete Tasks", description = "Deletes every existing task among the given IDs and reports how many were removed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks successfully deleted.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDeleteResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid IDs.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Ids are required and cannot be empty."))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string", example = "Idempotency-Key was already used for a different request."))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = "string",
+                                    example = "An error occurred while processing your request.")))
+    })
+    public Mono<ResponseEntity<TaskDeleteResultDTO>> deleteTasks(
+            ServerWebExchange exchange,
+            @RequestParam("ids")
+            @Parameter(description = "Comma-separated IDs of the tasks to be deleted", required = true, example = "1,2,3") List<Long> ids,
+            @RequestHeader(value = TaskIdempotencyStore.HEADER, required = false)
+            @Parameter(description = "Key naming this write across retries; a retry with the same key gets the first response back",
+                    example = "4f9c2b1e-7d3a-4c55-9e0b-2a6f8d1c3e70") String idempotencyKey) {
+        log.info("Received request to delete {} tasks", ids.size());
+        return idempotent(exchange, idempotencyKey, ids, () -> taskService.deleteTasks(ids)
+                        .map(result -> ResponseEntity.status(HttpStatus.OK).body(result)))
+                .doOnSuccess(response -> log.info("Tasks deleted successfully: {}", response.getBody()))
+                .doOnError(error -> log.error("Failed to delete tasks: {}", error.getMessage(), error));
+    }
+
+    // Peeks at the first element to keep the 204 on empty results, then streams the rest unbuffered.
+    // The source is not cancelled once the peek completes, so socket demand keeps driving the cursor.
+    private Mono<ResponseEntity<Flux<TaskResponseDTO>>> toStreamingResponse(Flux<TaskResponseDTO> tasks) {
+        return tasks
+                .switchOnFirst((firstSignal, allTasks) -> {
+                    if (firstSignal.hasValue()) {
+                        return Mono.just(ResponseEntity.ok(allTasks));
+                    }
+                    return allTasks.then(Mono.just(ResponseEntity.noContent().<Flux<TaskResponseDTO>>build()));
+                }, false)
+                .singleOrEmpty();
+    }
+
+    // Checked against the list version before any row is read, so an unchanged list costs one aggregate query.
+    // Reads without If-None-Match run it as well, so they can hand out the tag to poll with.
+    private Mono<ResponseEntity<Flux<TaskResponseDTO>>> toConditionalStreamingResponse(
+            ServerWebExchange exchange, String fields, Mono<String> version, Supplier<Flux<TaskResponseDTO>> tasks) {
+        String representation = getRepresentation(exchange, LIST_REPRESENTATIONS, TaskFields.parse(fields));
+        return version
+                .map(listVersion -> TaskETag.ofList(listVersion, representation))
+                .flatMap(eTag -> exchange.checkNotModified(eTag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Flux<TaskResponseDTO>>build())
+                        : toStreamingResponse(tasks.get())
+                                .map(response -> ResponseEntity.status(response.getStatusCode()).eTag(eTag).body(response.getBody())));
+    }
+
+    // The first non-JSON format among the given ones the client accepts, or null for full tasks in JSON.
+    // A sparse fieldset is a representation of its own, so it is part of the tag as well.
+    private String getRepresentation(ServerWebExchange exchange, Map<MediaType, String> representations, TaskFields fields) {
+        String encoding = exchange.getRequest().getHeaders().getAccept().stream()
+                .flatMap(accepted -> representations.entrySet().stream()
+                        .filter(representation -> representation.getKey().equalsTypeAndSubtype(accepted))
+                        .map(Map.Entry::getValue))
+                .findFirst()
+                .orElse(null);
+        if (fields.isAll()) {
+            return encoding;
+        }
+        return encoding != null ? encoding + "-" + fields : fields.toString();
+    }
+
+    // Every format of a response is served from the same URL, so a shared cache has to key it on Accept too.
+    private void varyOnAccept(ServerWebExchange exchange) {
+        exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ACCEPT));
+    }
+
+    // CSV when the client lists it before NDJSON; NDJSON otherwise, "Accept: */*" included.
+    private boolean isCsvAccepted(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .filter(accepted -> accepted.equalsTypeAndSubtype(TEXT_CSV) || accepted.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON))
+                .findFirst()
+                .map(accepted -> accepted.equalsTypeAndSubtype(TEXT_CSV))
+                .orElse(false);
+    }
+
+    private boolean isGzipAccepted(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(coding -> coding.replace(" ", "").toLowerCase(Locale.ROOT))
+                .anyMatch(coding -> coding.equals("gzip") || coding.startsWith("gzip;") && !coding.matches("gzip;q=0(\\.0*)?"));
+    }
+
+    private ResponseEntity<Flux<TaskResponseDTO>> toPageResponse(TaskPageDTO page) {
+        if (page.getContent().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(Flux.fromIterable(page.getContent()));
+    }
+
+    // A retry of a write with the same Idempotency-Key gets the first response back, and the write does not run
+    // again. The method, URI and If-Match are compared along with the body.
+    private <T> Mono<ResponseEntity<T>> idempotent(ServerWebExchange exchange, String idempotencyKey, Object body,
+                                                   Supplier<Mono<ResponseEntity<T>>> write) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<Object> fingerprint = Arrays.asList(request.getMethod(), request.getURI().getRawPath(), request.getURI().getRawQuery(),
+                request.getHeaders().getFirst(HttpHeaders.IF_MATCH), body);
+        return taskIdempotencyStore.execute(getUserEmailFromExchange(exchange), idempotencyKey, fingerprint, write);
+    }
+
     private String getUserEmailFromExchange(ServerWebExchange exchange) {
         return exchange.getRequest().getHeaders().getFirst("username");
     }
@@ -0,0 +1,6 @@
+package com.example.taskservice.dto;
+
+public enum TaskBatchItemStatus {
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDTO {
+
+    private long index;
+    private TaskBatchItemStatus status;
+    private TaskResponseDTO task;
+    private String error;
+
+    public static TaskBatchResultDTO created(long index, TaskResponseDTO task) {
+        return new TaskBatchResultDTO(index, TaskBatchItemStatus.CREATED, task, null);
+    }
+
+    public static TaskBatchResultDTO failed(long index, String error) {
+        return new TaskBatchResultDTO(index, TaskBatchItemStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeDTO {
+
+    private long id;
+    private TaskChangeType type;
+    private TaskResponseDTO task;
+
+    // The changes since the client's last event are gone; it has to reload its tasks before following again.
+    public static TaskChangeDTO reset(long id) {
+        return new TaskChangeDTO(id, TaskChangeType.RESET, null);
+    }
+}
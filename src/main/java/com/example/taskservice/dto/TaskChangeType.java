@@ -0,0 +1,8 @@
+package com.example.taskservice.dto;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESET
+}
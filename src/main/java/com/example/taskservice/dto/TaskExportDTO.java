@@ -0,0 +1,20 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of GET /export and POST /import. Unlike TaskResponseDTO it carries the owner, so a backup restores
+// each task to its user; the id and version of an imported row are not kept.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExportDTO {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String status;
+    private String userEmail;
+    private Long version;
+}
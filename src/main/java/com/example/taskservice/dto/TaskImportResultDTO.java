@@ -0,0 +1,19 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Only the first failures are listed, so the summary of a large import stays small.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResultDTO {
+
+    private long created;
+    private long failed;
+    private List<TaskBatchResultDTO> failures = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.example.taskservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    private List<TaskResponseDTO> content;
+    private String nextCursor;
+}
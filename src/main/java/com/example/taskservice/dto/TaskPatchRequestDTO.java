@@ -0,0 +1,28 @@
+package com.example.taskservice.dto;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static com.example.taskservice.commons.Constants.DESCRIPTION_CANNOT_BE_BLANK;
+import static com.example.taskservice.commons.Constants.STATUS_CANNOT_BE_BLANK;
+import static com.example.taskservice.commons.Constants.TITLE_CANNOT_BE_BLANK;
+
+// Absent (null) fields are left untouched; present ones follow the same rules as TaskRequestDTO.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPatchRequestDTO {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = TITLE_CANNOT_BE_BLANK)
+    private String title;
+
+    @Pattern(regexp = NOT_BLANK, message = DESCRIPTION_CANNOT_BE_BLANK)
+    private String description;
+
+    @Pattern(regexp = NOT_BLANK, message = STATUS_CANNOT_BE_BLANK)
+    private String status;
+}
@@ -1,16 +1,20 @@
 package com.example.taskservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// Fields left out of a sparse fieldset (?fields=) are null and are not written.
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TaskResponseDTO {
 
     private Long id;
     private String title;
     private String description;
     private String status;
+    private Long version;
 }
@@ -2,6 +2,7 @@ package com.example.taskservice.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
@@ -14,4 +15,7 @@ public class Task {
     private String description;
     private String status;
     private String userEmail;
+
+    @Version
+    private Long version;
 }
@@ -1,5 +1,6 @@
 package com.example.taskservice.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
@@ -23,6 +25,22 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails));
     }
 
+    @ExceptionHandler({TaskConflictException.class})
+    public Mono<ResponseEntity<ErrorResponse>> handleTaskConflictException(TaskConflictException tce, ServerWebExchange exchange) {
+
+        ErrorResponse errorDetails = getErrorDetails(tce.getMessage(), exchange);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails));
+    }
+
+    @ExceptionHandler({IdempotencyKeyReusedException.class})
+    public Mono<ResponseEntity<ErrorResponse>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ikre, ServerWebExchange exchange) {
+
+        ErrorResponse errorDetails = getErrorDetails(ikre.getMessage(), exchange);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorDetails));
+    }
+
     @ExceptionHandler({BadRequestException.class})
     public Mono<ResponseEntity<ErrorResponse>> handleBadRequestException(BadRequestException bre, ServerWebExchange exchange) {
 
@@ -31,6 +49,24 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails));
     }
 
+    @ExceptionHandler({ServiceUnavailableException.class})
+    public Mono<ResponseEntity<ErrorResponse>> handleServiceUnavailableException(ServiceUnavailableException sue, ServerWebExchange exchange) {
+
+        ErrorResponse errorDetails = getErrorDetails(sue.getMessage(), exchange);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+                .body(errorDetails));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleServerWebInputException(ServerWebInputException swie, ServerWebExchange exchange) {
+
+        ErrorResponse errorDetails = getErrorDetails(swie.getReason(), exchange);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleValidationExceptions(WebExchangeBindException ex, ServerWebExchange exchange) {
         String errorMessage = ex.getBindingResult().getAllErrors().stream()
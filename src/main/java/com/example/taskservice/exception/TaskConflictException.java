@@ -0,0 +1,7 @@
+package com.example.taskservice.exception;
+
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
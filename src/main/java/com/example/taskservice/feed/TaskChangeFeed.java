@@ -0,0 +1,156 @@
+package com.example.taskservice.feed;
+
+import com.example.taskservice.config.TaskChangeFeedProperties;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskChangeType;
+import com.example.taskservice.dto.TaskResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Task changes numbered in the order they were published. The last bufferSize of them are kept in a ring, so a
+// client that reconnects with the Last-Event-ID it saw gets what it missed instead of reloading every task.
+@Slf4j
+@Component
+public class TaskChangeFeed {
+
+    public static final String METRIC_NAME = "task.changes";
+
+    private final TaskChangeFeedProperties properties;
+    private final Change[] ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter disconnected;
+    // Starts from the clock so ids keep growing across restarts: an id from before a restart is older than
+    // anything in the new ring and gets a RESET instead of a silently incomplete replay.
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private long lastId = firstId;
+
+    public TaskChangeFeed(TaskChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new Change[properties.getBufferSize()];
+        this.disconnected = Counter.builder(METRIC_NAME + ".disconnected")
+                .description("Change feed subscribers dropped for not keeping up")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".subscribers", subscribers, Set::size)
+                .description("Clients following the task change feed")
+                .register(meterRegistry);
+    }
+
+    // Numbers and queues the change under the ring lock so every subscriber sees changes in id order, then
+    // delivers it outside the lock: delivery runs the client's mapping and encoding, which must not stall publishers.
+    public void publish(TaskChangeType type, String userEmail, TaskResponseDTO task) {
+        List<Subscriber> receivers = new ArrayList<>();
+        synchronized (ring) {
+            Change change = new Change(userEmail, new TaskChangeDTO(++lastId, type, task));
+            ring[(int) (lastId % ring.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                if (Objects.equals(subscriber.userEmail, userEmail)) {
+                    subscriber.queued.offer(change.dto());
+                    receivers.add(subscriber);
+                }
+            }
+        }
+        receivers.forEach(Subscriber::drain);
+    }
+
+    // Changes of the given user after lastEventId, then live ones. Without lastEventId only live changes follow.
+    // Each subscriber buffers at most maxPending changes: one that falls further behind has its stream completed
+    // after what it already has, and catches up from the ring when it reconnects.
+    public Flux<TaskChangeDTO> subscribe(String userEmail, String lastEventId) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(userEmail);
+            List<TaskChangeDTO> missed;
+            synchronized (ring) {
+                missed = changesAfter(userEmail, lastEventId);
+                subscribers.add(subscriber);
+            }
+            log.debug("Following task changes for user with email: {} after event: {}, {} missed",
+                    userEmail, lastEventId, missed.size());
+            return Flux.fromIterable(missed)
+                    .concatWith(subscriber.sink.asFlux())
+                    .doFinally(signal -> subscribers.remove(subscriber));
+        });
+    }
+
+    private List<TaskChangeDTO> changesAfter(String userEmail, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return List.of(TaskChangeDTO.reset(lastId));
+        }
+        long oldest = Math.max(firstId + 1, lastId - ring.length + 1);
+        if (after < oldest - 1 || after > lastId) {
+            return List.of(TaskChangeDTO.reset(lastId));
+        }
+        List<TaskChangeDTO> missed = new ArrayList<>();
+        for (long id = after + 1; id <= lastId; id++) {
+            Change change = ring[(int) (id % ring.length)];
+            if (Objects.equals(change.userEmail(), userEmail)) {
+                missed.add(change.dto());
+            }
+        }
+        return missed;
+    }
+
+    private record Change(String userEmail, TaskChangeDTO dto) {
+    }
+
+    private final class Subscriber {
+
+        private final String userEmail;
+        private final Sinks.Many<TaskChangeDTO> sink;
+        private final Queue<TaskChangeDTO> queued = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger draining = new AtomicInteger();
+
+        private Subscriber(String userEmail) {
+            this.userEmail = userEmail;
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(properties.getMaxPending()));
+        }
+
+        // Whichever publisher gets here first emits everything queued, including what others queue meanwhile, so
+        // emissions never race and keep the order the changes were queued in.
+        private void drain() {
+            if (draining.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                TaskChangeDTO change;
+                while ((change = queued.poll()) != null) {
+                    offer(change);
+                }
+                missed = draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void offer(TaskChangeDTO change) {
+            Sinks.EmitResult result = sink.tryEmitNext(change);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                log.warn("Dropping slow change feed subscriber for user with email: {} at event: {}", userEmail, change.getId());
+                disconnected.increment();
+                subscribers.remove(this);
+                sink.tryEmitComplete();
+            } else if (result.isFailure()) {
+                subscribers.remove(this);
+            }
+        }
+    }
+}
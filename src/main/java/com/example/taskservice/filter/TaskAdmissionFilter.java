@@ -0,0 +1,163 @@
+package com.example.taskservice.filter;
+
+import com.example.taskservice.config.TaskAdmissionProperties;
+import com.example.taskservice.exception.ErrorResponse;
+import com.example.taskservice.repository.TaskShardConnectionFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.taskservice.commons.Constants.SERVICE_IS_OVERLOADED;
+import static com.example.taskservice.commons.Constants.TOO_MANY_REQUESTS;
+
+// Turns requests away before they reach the controller, so one client cannot take every database connection.
+// Each user, named by the username header like in TaskController, gets a token bucket and a 429 once it is
+// empty. Everyone gets a 503 while too many requests are in flight or waiting for a database connection.
+// Both answers carry Retry-After. Callers without a username, such as other services behind the gateway that all
+// arrive from its address, are only subject to the 503.
+@Slf4j
+@Component
+public class TaskAdmissionFilter implements WebFilter, Ordered {
+
+    public static final String REJECTED_METRIC = "task.admission.rejected";
+    public static final String IN_FLIGHT_METRIC = "task.admission.in.flight";
+
+    private static final String TASKS_PATH = "/api/tasks";
+    private static final String CHANGES_PATH = "/api/tasks/changes";
+    private static final long OVERLOADED_RETRY_AFTER_SECONDS = 1;
+    private static final ResolvableType ERROR_TYPE = ResolvableType.forClass(ErrorResponse.class);
+
+    private final TaskAdmissionProperties properties;
+    private final TaskRateLimiter rateLimiter;
+    private final List<ConnectionPool> pools;
+    private final ServerCodecConfigurer codecs;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rateLimited;
+    private final Counter overloaded;
+    private final Counter poolBusy;
+
+    public TaskAdmissionFilter(TaskAdmissionProperties properties, ConnectionFactory connectionFactory,
+                               ServerCodecConfigurer codecs, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = new TaskRateLimiter(properties.getRate(), properties.getBurst(), properties.getMaximumUsers());
+        this.pools = pools(connectionFactory);
+        this.codecs = codecs;
+        this.rateLimited = rejected(meterRegistry, "rate-limit");
+        this.overloaded = rejected(meterRegistry, "concurrency");
+        this.poolBusy = rejected(meterRegistry, "pending-connections");
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .description("Task requests being served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!properties.isEnabled() || !path.startsWith(TASKS_PATH)) {
+            return chain.filter(exchange);
+        }
+        if (pendingConnections() > properties.getMaxPendingConnections()) {
+            poolBusy.increment();
+            log.debug("Database connection queue is full, rejecting request to: {}", path);
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_IS_OVERLOADED, OVERLOADED_RETRY_AFTER_SECONDS);
+        }
+        // A change feed stays open for as long as its client follows it, so it would hold its slot forever.
+        boolean counted = !path.startsWith(CHANGES_PATH);
+        if (counted && inFlight.incrementAndGet() > properties.getMaxConcurrent()) {
+            inFlight.decrementAndGet();
+            overloaded.increment();
+            log.debug("Too many requests in flight, rejecting request to: {}", path);
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_IS_OVERLOADED, OVERLOADED_RETRY_AFTER_SECONDS);
+        }
+        // Checked last, so a request shed for overload does not use up its user's tokens.
+        String user = exchange.getRequest().getHeaders().getFirst("username");
+        long waitNanos = user != null ? rateLimiter.tryAcquire(user) : 0;
+        if (waitNanos > 0) {
+            if (counted) {
+                inFlight.decrementAndGet();
+            }
+            rateLimited.increment();
+            log.debug("Rate limit reached for user: {}", user);
+            return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS, Math.max(1, (long) Math.ceil(waitNanos / 1e9)));
+        }
+        if (!counted) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private int pendingConnections() {
+        int pending = 0;
+        for (ConnectionPool pool : pools) {
+            pending += pool.getMetrics().map(PoolMetrics::pendingAcquireSize).orElse(0);
+        }
+        return pending;
+    }
+
+    // GlobalExceptionHandler is not reached from a filter, so the same body is written here with the codecs
+    // the controller uses: JSON, CBOR or Protobuf, whichever the client accepts, and JSON otherwise.
+    @SuppressWarnings("unchecked")
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String message, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        ErrorResponse errorDetails = new ErrorResponse(LocalDateTime.now(), message, exchange.getRequest().getPath().value());
+        List<MediaType> accepted = new ArrayList<>(exchange.getRequest().getHeaders().getAccept());
+        accepted.add(MediaType.APPLICATION_JSON);
+        for (MediaType mediaType : accepted) {
+            for (HttpMessageWriter<?> writer : codecs.getWriters()) {
+                if (writer.canWrite(ERROR_TYPE, mediaType)) {
+                    return ((HttpMessageWriter<ErrorResponse>) writer)
+                            .write(Mono.just(errorDetails), ERROR_TYPE, mediaType, response, Map.of());
+                }
+            }
+        }
+        return response.setComplete();
+    }
+
+    private static List<ConnectionPool> pools(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof TaskShardConnectionFactory shards) {
+            return shards.getShards().stream().flatMap(shard -> pools(shard).stream()).toList();
+        }
+        if (connectionFactory instanceof ConnectionPool pool) {
+            return List.of(pool);
+        }
+        return List.of();
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("Task requests turned away before reaching the controller")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
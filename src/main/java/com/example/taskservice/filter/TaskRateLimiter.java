@@ -0,0 +1,54 @@
+package com.example.taskservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// A token bucket per key, kept as the time its bucket will be full again (the generic cell rate algorithm).
+// That is a single long, so admitting a request is one compare-and-set instead of a lock around a token count
+// and its refill time. A bucket idle long enough to be full is dropped, since a new one behaves the same.
+class TaskRateLimiter {
+
+    private final long interval;
+    private final long capacity;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    TaskRateLimiter(double rate, int burst, long maximumKeys) {
+        this(rate, burst, maximumKeys, System::nanoTime);
+    }
+
+    TaskRateLimiter(double rate, int burst, long maximumKeys, LongSupplier clock) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.capacity = interval * burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(capacity))
+                .build();
+    }
+
+    // Returns 0 when the request may go ahead, otherwise how many nanoseconds until it would.
+    long tryAcquire(String key) {
+        AtomicLong full = buckets.get(key, k -> new AtomicLong(clock.getAsLong()));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = full.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - capacity - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (full.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.taskservice.mapper;
 
+import com.example.taskservice.dto.TaskExportDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
 import com.example.taskservice.entity.Task;
@@ -17,7 +18,8 @@ public class TaskMapper {
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
-                task.getStatus()
+                task.getStatus(),
+                task.getVersion()
         );
     }
 
@@ -33,4 +35,31 @@ public class TaskMapper {
 
         return task;
     }
+
+    public TaskExportDTO toExportDto(Task task) {
+        if (task == null) {
+            return null;
+        }
+
+        return new TaskExportDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getUserEmail(),
+                task.getVersion()
+        );
+    }
+
+    public TaskRequestDTO toRequestDto(TaskExportDTO taskExportDTO) {
+        if (taskExportDTO == null) {
+            return null;
+        }
+
+        return new TaskRequestDTO(
+                taskExportDTO.getTitle(),
+                taskExportDTO.getDescription(),
+                taskExportDTO.getStatus()
+        );
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.taskservice.mapper;
+
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
+import com.example.taskservice.exception.ErrorResponse;
+import com.example.taskservice.proto.TaskBatchItemStatus;
+import com.example.taskservice.proto.TaskBatchResult;
+import com.example.taskservice.proto.TaskDeleteResult;
+import com.example.taskservice.proto.TaskPatchRequest;
+import com.example.taskservice.proto.TaskRequest;
+import com.example.taskservice.proto.TaskResponse;
+import com.example.taskservice.proto.TaskStats;
+import com.google.protobuf.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+// Converts the DTOs of the API to and from the messages of src/main/proto/schema/task.proto.
+@Component
+public class TaskProtobufMapper {
+
+    private static final Set<Class<?>> WRITABLE_TYPES = Set.of(TaskResponseDTO.class, TaskBatchResultDTO.class,
+            TaskStatsDTO.class, TaskDeleteResultDTO.class, ErrorResponse.class);
+    private static final Map<Class<?>, Class<? extends Message>> READABLE_TYPES = Map.of(
+            TaskRequestDTO.class, TaskRequest.class,
+            TaskPatchRequestDTO.class, TaskPatchRequest.class);
+
+    public boolean canWrite(Class<?> dtoType) {
+        return WRITABLE_TYPES.contains(dtoType);
+    }
+
+    // The message a request body of the given DTO type is sent as, or null when it has none.
+    public Class<? extends Message> getMessageType(Class<?> dtoType) {
+        return READABLE_TYPES.get(dtoType);
+    }
+
+    public Message toMessage(Object dto) {
+        if (dto instanceof TaskResponseDTO task) {
+            return toTaskResponse(task);
+        }
+        if (dto instanceof TaskBatchResultDTO result) {
+            TaskBatchResult.Builder message = TaskBatchResult.newBuilder()
+                    .setIndex(result.getIndex())
+                    .setStatus(TaskBatchItemStatus.valueOf(result.getStatus().name()));
+            if (result.getTask() != null) {
+                message.setTask(toTaskResponse(result.getTask()));
+            }
+            if (result.getError() != null) {
+                message.setError(result.getError());
+            }
+            return message.build();
+        }
+        if (dto instanceof TaskStatsDTO stats) {
+            return TaskStats.newBuilder()
+                    .setTotal(stats.getTotal())
+                    .putAllByStatus(stats.getByStatus())
+                    .build();
+        }
+        if (dto instanceof TaskDeleteResultDTO result) {
+            return TaskDeleteResult.newBuilder()
+                    .setRequested(result.getRequested())
+                    .setDeleted(result.getDeleted())
+                    .build();
+        }
+        if (dto instanceof ErrorResponse error) {
+            return com.example.taskservice.proto.ErrorResponse.newBuilder()
+                    .setTimestamp(error.getTimestamp() != null ? error.getTimestamp().toString() : "")
+                    .setMessage(nullToEmpty(error.getMessage()))
+                    .setDetails(nullToEmpty(error.getDetails()))
+                    .build();
+        }
+        throw new IllegalArgumentException("No Protobuf message for " + dto.getClass().getName());
+    }
+
+    public Object fromMessage(Message message) {
+        if (message instanceof TaskRequest request) {
+            return new TaskRequestDTO(request.getTitle(), request.getDescription(), request.getStatus());
+        }
+        if (message instanceof TaskPatchRequest patch) {
+            return new TaskPatchRequestDTO(
+                    patch.hasTitle() ? patch.getTitle() : null,
+                    patch.hasDescription() ? patch.getDescription() : null,
+                    patch.hasStatus() ? patch.getStatus() : null);
+        }
+        throw new IllegalArgumentException("No DTO for " + message.getDescriptorForType().getFullName());
+    }
+
+    private static TaskResponse toTaskResponse(TaskResponseDTO task) {
+        TaskResponse.Builder message = TaskResponse.newBuilder();
+        if (task.getId() != null) {
+            message.setId(task.getId());
+        }
+        if (task.getTitle() != null) {
+            message.setTitle(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            message.setDescription(task.getDescription());
+        }
+        if (task.getStatus() != null) {
+            message.setStatus(task.getStatus());
+        }
+        if (task.getVersion() != null) {
+            message.setVersion(task.getVersion());
+        }
+        return message.build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
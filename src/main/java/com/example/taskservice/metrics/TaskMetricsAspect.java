@@ -0,0 +1,79 @@
+package com.example.taskservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Times every TaskService and TaskRepository call from subscription to its terminal signal, so the timers
+// measure the actual work rather than the assembly of the returned Mono or Flux.
+@Aspect
+@Component
+@AllArgsConstructor
+public class TaskMetricsAspect {
+
+    public static final String SERVICE_TIMER = "task.service";
+    public static final String REPOSITORY_TIMER = "task.repository";
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+    private static final String CANCELLED = "cancelled";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.example.taskservice.service.TaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("execution(* com.example.taskservice.repository.TaskRepository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample assembly = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable error) {
+            stop(assembly, name, method, ERROR, error);
+            throw error;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return mono
+                        .doOnSuccess(value -> stop(sample, name, method, SUCCESS, null))
+                        .doOnError(error -> stop(sample, name, method, ERROR, error))
+                        .doOnCancel(() -> stop(sample, name, method, CANCELLED, null));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return flux
+                        .doOnComplete(() -> stop(sample, name, method, SUCCESS, null))
+                        .doOnError(error -> stop(sample, name, method, ERROR, error))
+                        .doOnCancel(() -> stop(sample, name, method, CANCELLED, null));
+            });
+        }
+        stop(assembly, name, method, SUCCESS, null);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String name, String method, String outcome, Throwable error) {
+        sample.stop(Timer.builder(name)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", error == null ? NONE : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.core.InfrastructureProxy;
+import reactor.core.publisher.Mono;
+
+// Records how long callers wait for a connection. Wrapping the pool rather than the driver means the
+// timer covers the wait for a free connection, which the pool's own gauges only show as a pending count.
+// As an InfrastructureProxy it resolves to the pool when looking up transaction-bound connections.
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, InfrastructureProxy {
+
+    public static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final Timer acquired;
+    private final Timer failed;
+
+    public TimedConnectionFactory(ConnectionFactory delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquired = timer(meterRegistry, "success");
+        this.failed = timer(meterRegistry, "error");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnSuccess(connection -> sample.stop(acquired))
+                    .doOnError(error -> sample.stop(failed));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public Object getWrappedObject() {
+        return delegate;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(ACQUIRE_TIMER)
+                .description("Time spent waiting for a database connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
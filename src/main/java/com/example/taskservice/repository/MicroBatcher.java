@@ -0,0 +1,60 @@
+package com.example.taskservice.repository;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Groups items submitted within one window, or until the batch is full, and hands each group to dispatch().
+// The first item of a batch starts its window; a batch dispatched early for being full ends it.
+abstract class MicroBatcher<T> {
+
+    private final Scheduler scheduler = Schedulers.parallel();
+    private final Object lock = new Object();
+    private List<T> pending = new ArrayList<>();
+    private long generation;
+
+    protected abstract Duration window();
+
+    protected abstract int maxBatchSize();
+
+    // Called outside the lock, on the submitting thread for full batches and on a timer thread otherwise.
+    protected abstract void dispatch(List<T> batch);
+
+    protected void submit(T item) {
+        List<T> full = null;
+        synchronized (lock) {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize()) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                long batch = generation;
+                scheduler.schedule(() -> flush(batch), window().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+    }
+
+    private void flush(long batch) {
+        List<T> items;
+        synchronized (lock) {
+            if (batch != generation || pending.isEmpty()) {
+                return;
+            }
+            items = drain();
+        }
+        dispatch(items);
+    }
+
+    private List<T> drain() {
+        List<T> items = pending;
+        pending = new ArrayList<>();
+        generation++;
+        return items;
+    }
+}
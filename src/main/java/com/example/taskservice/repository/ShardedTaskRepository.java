@@ -0,0 +1,284 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.entity.Task;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Spreads tasks over the shards of a TaskShardConnectionFactory. Reads and writes of one user or one ID go to
+// the single shard holding them; everything else is sent to every shard it touches and the results merged.
+public class ShardedTaskRepository implements TaskRepository {
+
+    private static final Comparator<Task> BY_ID = Comparator.comparing(Task::getId);
+
+    private final TaskRepository shardRepository;
+    private final TaskShardConnectionFactory shards;
+
+    public ShardedTaskRepository(TaskRepository shardRepository, TaskShardConnectionFactory shards) {
+        this.shardRepository = shardRepository;
+        this.shards = shards;
+    }
+
+    // New tasks go to the shard of their user, whose identity column gives them an ID naming that shard.
+    @Override
+    public <S extends Task> Mono<S> save(S task) {
+        int shard = task.getId() == null ? shards.shardOf(task.getUserEmail()) : shards.shardOf(task.getId());
+        return on(shard, shardRepository.save(task));
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Iterable<S> tasks) {
+        return Flux.fromIterable(tasks).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Publisher<S> tasks) {
+        return Flux.from(tasks).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Task> findById(Long id) {
+        return on(shards.shardOf(id), shardRepository.findById(id));
+    }
+
+    @Override
+    public Mono<Task> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return on(shards.shardOf(id), shardRepository.existsById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Task> findAll() {
+        return onEveryShard(shard -> shardRepository.findAll());
+    }
+
+    @Override
+    public Flux<Task> findAllById(Iterable<Long> ids) {
+        return onShardsOf(ids, shardRepository::findAllById);
+    }
+
+    @Override
+    public Flux<Task> findAllById(Publisher<Long> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return onEveryShard(shard -> shardRepository.count()).reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return on(shards.shardOf(id), shardRepository.deleteById(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Task task) {
+        return on(shards.shardOf(task.getId()), shardRepository.delete(task));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        return onShardsOf(ids, shardRepository::deleteAllById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Task> tasks) {
+        return Flux.fromIterable(tasks).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Task> tasks) {
+        return Flux.from(tasks).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return onEveryShard(shard -> shardRepository.deleteAll()).then();
+    }
+
+    @Override
+    public Flux<Task> findByUserEmail(String userEmail) {
+        return on(shards.shardOf(userEmail), shardRepository.findByUserEmail(userEmail));
+    }
+
+    // Each shard returns its own first page; merged in ID order, the first rows of the merge are the global page.
+    @Override
+    public Flux<Task> findPage(Long afterId, int limit) {
+        return mergeById(shard -> shardRepository.findPage(afterId, limit)).take(limit);
+    }
+
+    @Override
+    public Flux<Task> findPageByUserEmail(String userEmail, Long afterId, int limit) {
+        return on(shards.shardOf(userEmail), shardRepository.findPageByUserEmail(userEmail, afterId, limit));
+    }
+
+    @Override
+    public Flux<TaskStatusCount> countByStatus() {
+        return onEveryShard(shard -> shardRepository.countByStatus())
+                .collect(Collectors.groupingBy(TaskStatusCount::getStatus, TreeMap::new,
+                        Collectors.summingLong(TaskStatusCount::getTotal)))
+                .flatMapIterable(Map::entrySet)
+                .map(count -> new TaskStatusCount(count.getKey(), count.getValue()));
+    }
+
+    @Override
+    public Flux<TaskStatusCount> countByStatusAndUserEmail(String userEmail) {
+        return on(shards.shardOf(userEmail), shardRepository.countByStatusAndUserEmail(userEmail));
+    }
+
+    // IDs only grow within a shard, so a delete on one shard and a create on another below the highest ID can
+    // leave the combined total, highest ID and version sum unchanged. The tag joins every shard's own version
+    // in shard order instead, which any change on any shard does change.
+    @Override
+    public Mono<TaskListVersion> findListVersion() {
+        return Flux.mergeSequential(IntStream.range(0, shards.getShardCount())
+                        .mapToObj(shard -> on(shard, shardRepository.findListVersion()))
+                        .toList())
+                .collectList()
+                .map(ShardedListVersion::new);
+    }
+
+    @Override
+    public Mono<TaskListVersion> findListVersionByUserEmail(String userEmail) {
+        return on(shards.shardOf(userEmail), shardRepository.findListVersionByUserEmail(userEmail));
+    }
+
+    // One multi-row insert per shard. The rows of each come back in the order of its slice of the input, so
+    // they are put back at the positions they were given in.
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<Integer, List<Integer>> positionsByShard = IntStream.range(0, tasks.size()).boxed()
+                .collect(Collectors.groupingBy(position -> shards.shardOf(tasks.get(position).getUserEmail())));
+        return Flux.defer(() -> {
+            Task[] inserted = new Task[tasks.size()];
+            return Flux.fromIterable(positionsByShard.entrySet())
+                    .flatMap(entry -> {
+                        List<Integer> positions = entry.getValue();
+                        return on(entry.getKey(), shardRepository.insertAll(positions.stream().map(tasks::get).toList()))
+                                .index()
+                                .doOnNext(row -> inserted[positions.get(row.getT1().intValue())] = row.getT2());
+                    })
+                    .thenMany(Flux.fromArray(inserted));
+        });
+    }
+
+    @Override
+    public Flux<Task> deleteAllByIdReturning(Collection<Long> ids) {
+        return onShardsOf(ids, shardRepository::deleteAllByIdReturning);
+    }
+
+    @Override
+    public Mono<Task> update(Long id, Map<String, String> columns, Long expectedVersion) {
+        return on(shards.shardOf(id), shardRepository.update(id, columns, expectedVersion));
+    }
+
+    @Override
+    public Mono<Task> findById(Long id, TaskFields fields) {
+        return on(shards.shardOf(id), shardRepository.findById(id, fields));
+    }
+
+    @Override
+    public Flux<Task> findAllById(Collection<Long> ids, TaskFields fields) {
+        return onShardsOf(ids, shardIds -> shardRepository.findAllById(shardIds, fields));
+    }
+
+    @Override
+    public Flux<Task> findAll(TaskFields fields) {
+        return onEveryShard(shard -> shardRepository.findAll(fields));
+    }
+
+    @Override
+    public Flux<Task> findByUserEmail(String userEmail, TaskFields fields) {
+        return on(shards.shardOf(userEmail), shardRepository.findByUserEmail(userEmail, fields));
+    }
+
+    @Override
+    public Flux<Task> findPage(Long afterId, int limit, TaskFields fields) {
+        return mergeById(shard -> shardRepository.findPage(afterId, limit, fields)).take(limit);
+    }
+
+    @Override
+    public Flux<Task> findPageByUserEmail(String userEmail, Long afterId, int limit, TaskFields fields) {
+        return on(shards.shardOf(userEmail), shardRepository.findPageByUserEmail(userEmail, afterId, limit, fields));
+    }
+
+    private static <T> Mono<T> on(int shard, Mono<T> query) {
+        return query.contextWrite(TaskShardConnectionFactory.shard(shard));
+    }
+
+    private static <T> Flux<T> on(int shard, Flux<T> query) {
+        return query.contextWrite(TaskShardConnectionFactory.shard(shard));
+    }
+
+    // Shards are queried concurrently and their rows passed on as they arrive.
+    private <T> Flux<T> onEveryShard(IntFunction<? extends Publisher<T>> query) {
+        return Flux.merge(IntStream.range(0, shards.getShardCount())
+                .mapToObj(shard -> on(shard, Flux.from(query.apply(shard))))
+                .toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flux<Task> mergeById(IntFunction<Flux<Task>> query) {
+        Flux<Task>[] sorted = IntStream.range(0, shards.getShardCount())
+                .mapToObj(shard -> on(shard, query.apply(shard)))
+                .toArray(Flux[]::new);
+        return Flux.mergeComparing(BY_ID, sorted);
+    }
+
+    // Splits the IDs by the shard holding them and runs the query once on each of those shards only.
+    private <T> Flux<T> onShardsOf(Iterable<? extends Long> ids, Function<List<Long>, ? extends Publisher<T>> query) {
+        Map<Integer, List<Long>> idsByShard = StreamSupport.stream(ids.spliterator(), false)
+                .<Long>map(id -> id)
+                .collect(Collectors.groupingBy(id -> shards.shardOf(id)));
+        return Flux.merge(idsByShard.entrySet().stream()
+                .map(entry -> on(entry.getKey(), Flux.from(query.apply(entry.getValue()))))
+                .toList());
+    }
+
+    private static final class ShardedListVersion extends TaskListVersion {
+
+        private final List<TaskListVersion> shardVersions;
+
+        ShardedListVersion(List<TaskListVersion> shardVersions) {
+            super(shardVersions.stream().mapToLong(TaskListVersion::getTotal).sum(),
+                    shardVersions.stream().mapToLong(TaskListVersion::getMaxId).max().orElse(0L),
+                    shardVersions.stream().mapToLong(TaskListVersion::getVersionSum).sum());
+            this.shardVersions = shardVersions;
+        }
+
+        @Override
+        public String toETagValue() {
+            return shardVersions.stream().map(TaskListVersion::toETagValue).collect(Collectors.joining("."));
+        }
+    }
+}
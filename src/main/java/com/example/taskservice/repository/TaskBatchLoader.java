@@ -0,0 +1,102 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskLoaderProperties;
+import com.example.taskservice.entity.Task;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Point reads arriving within one window, or until the batch is full, are answered by a single IN (...) query,
+// so a burst of lookups costs one round trip and one pooled connection instead of one each.
+@Slf4j
+@Component
+public class TaskBatchLoader extends MicroBatcher<TaskBatchLoader.Load> {
+
+    public static final String METRIC_NAME = "task.loader.batch.size";
+
+    private final TaskRepository taskRepository;
+    private final TaskLoaderProperties properties;
+    private final TaskReplicaRouter taskReplicaRouter;
+    private final DistributionSummary batchSizes;
+
+    public TaskBatchLoader(TaskRepository taskRepository, TaskLoaderProperties properties,
+                           TaskReplicaRouter taskReplicaRouter, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+        this.taskReplicaRouter = taskReplicaRouter;
+        this.batchSizes = DistributionSummary.builder(METRIC_NAME)
+                .description("Distinct task ids per batched lookup query")
+                .register(meterRegistry);
+    }
+
+    // Completes empty when the task does not exist.
+    public Mono<Task> load(Long id) {
+        if (!properties.isEnabled() || properties.getMaxBatchSize() <= 1) {
+            return taskRepository.findById(id).contextWrite(taskReplicaRouter.readOfTasks(List.of(id)));
+        }
+        return Mono.create(sink -> {
+            Load load = new Load(id, sink);
+            sink.onCancel(() -> load.cancelled = true);
+            submit(load);
+        });
+    }
+
+    @Override
+    protected Duration window() {
+        return properties.getWindow();
+    }
+
+    @Override
+    protected int maxBatchSize() {
+        return properties.getMaxBatchSize();
+    }
+
+    @Override
+    protected void dispatch(List<Load> loads) {
+        List<Load> wanted = loads.stream().filter(load -> !load.cancelled).toList();
+        if (wanted.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = wanted.stream().map(load -> load.id).collect(Collectors.toCollection(LinkedHashSet::new));
+        batchSizes.record(ids.size());
+        log.debug("Loading {} tasks in one query for {} lookups", ids.size(), wanted.size());
+        taskRepository.findAllById(ids)
+                .collectMap(Task::getId, Function.identity())
+                .contextWrite(taskReplicaRouter.readOfTasks(ids))
+                .subscribe(
+                        tasks -> wanted.forEach(load -> load.complete(tasks)),
+                        error -> wanted.forEach(load -> load.sink.error(error)));
+    }
+
+    static final class Load {
+
+        private final Long id;
+        private final MonoSink<Task> sink;
+        private volatile boolean cancelled;
+
+        private Load(Long id, MonoSink<Task> sink) {
+            this.id = id;
+            this.sink = sink;
+        }
+
+        private void complete(Map<Long, Task> tasks) {
+            Task task = tasks.get(id);
+            if (task == null) {
+                sink.success();
+            } else {
+                sink.success(task);
+            }
+        }
+    }
+}
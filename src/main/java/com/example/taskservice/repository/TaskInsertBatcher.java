@@ -0,0 +1,115 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskInsertBatchProperties;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.taskservice.commons.Constants.TOO_MANY_PENDING_TASKS;
+
+// Inserts arriving within one window, or until the batch is full, are written by one multi-row INSERT, so a
+// burst of creates holds one pooled connection per batch instead of one per task. Each caller completes with
+// its generated id once that statement has committed, and fails with it if it fails. Once queued a task is
+// written even if its caller goes away, like a statement already sent.
+@Slf4j
+@Component
+public class TaskInsertBatcher extends MicroBatcher<TaskInsertBatcher.Insert> {
+
+    public static final String METRIC_NAME = "task.insert.batch.size";
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final TaskRepository taskRepository;
+    private final TaskInsertBatchProperties properties;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    public TaskInsertBatcher(TaskRepository taskRepository, TaskInsertBatchProperties properties, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+        this.batchSizes = DistributionSummary.builder(METRIC_NAME)
+                .description("Tasks per batched multi-row insert")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("task.insert.rejected")
+                .description("Task creations refused because the insert queue was full")
+                .register(meterRegistry);
+        Gauge.builder("task.insert.pending", pending, AtomicInteger::get)
+                .description("Task creations queued or being written")
+                .register(meterRegistry);
+    }
+
+    // Beyond the configured capacity callers are refused straight away rather than queued without bound.
+    public Mono<Task> insert(Task task) {
+        if (!properties.isEnabled()) {
+            return taskRepository.save(task);
+        }
+        return Mono.create(sink -> {
+            if (pending.incrementAndGet() > properties.getCapacity()) {
+                pending.decrementAndGet();
+                rejected.increment();
+                sink.error(new ServiceUnavailableException(TOO_MANY_PENDING_TASKS, RETRY_AFTER_SECONDS));
+                return;
+            }
+            submit(new Insert(task, sink));
+        });
+    }
+
+    @Override
+    protected Duration window() {
+        return properties.getWindow();
+    }
+
+    @Override
+    protected int maxBatchSize() {
+        return properties.getMaxBatchSize();
+    }
+
+    // Rows come back ordered by id, which follows the order of the VALUES list.
+    @Override
+    protected void dispatch(List<Insert> inserts) {
+        batchSizes.record(inserts.size());
+        log.debug("Inserting {} tasks in one statement", inserts.size());
+        taskRepository.insertAll(inserts.stream().map(insert -> insert.task).toList())
+                .collectList()
+                .subscribe(
+                        saved -> {
+                            // Released before the callers resume, so they never observe their own inserts as pending.
+                            pending.addAndGet(-inserts.size());
+                            if (saved.size() != inserts.size()) {
+                                IllegalStateException error = new IllegalStateException(
+                                        "Inserted " + saved.size() + " tasks but " + inserts.size() + " were queued");
+                                inserts.forEach(insert -> insert.sink.error(error));
+                                return;
+                            }
+                            for (int i = 0; i < inserts.size(); i++) {
+                                inserts.get(i).sink.success(saved.get(i));
+                            }
+                        },
+                        error -> {
+                            pending.addAndGet(-inserts.size());
+                            inserts.forEach(insert -> insert.sink.error(error));
+                        });
+    }
+
+    static final class Insert {
+
+        private final Task task;
+        private final MonoSink<Task> sink;
+
+        private Insert(Task task, MonoSink<Task> sink) {
+            this.task = task;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskservice.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Every create raises maxId, every delete lowers total and every update raises versionSum, so any change to a
+// list of tasks changes at least one of the three.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskListVersion {
+
+    private Long total;
+    private Long maxId;
+    private Long versionSum;
+
+    public String toETagValue() {
+        return total + "-" + maxId + "-" + versionSum;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.taskservice.repository;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.core.InfrastructureProxy;
+import reactor.core.publisher.Mono;
+
+// Hands out replica connections to reads marked by TaskReplicaRouter and primary connections to everything else.
+// As an InfrastructureProxy it resolves to the primary, so queries inside a transaction use its connection.
+class TaskReplicaConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, InfrastructureProxy {
+
+    private final ConnectionFactory primary;
+    private final TaskReplicaRouter router;
+
+    TaskReplicaConnectionFactory(ConnectionFactory primary, TaskReplicaRouter router) {
+        this.primary = primary;
+        this.router = router;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return router.create(primary);
+    }
+
+    // The replica runs the same database as the primary.
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public Object getWrappedObject() {
+        return primary;
+    }
+}
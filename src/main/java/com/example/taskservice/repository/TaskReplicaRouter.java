@@ -0,0 +1,204 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskReplicaProperties;
+import com.example.taskservice.entity.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// Sends reads to the task.replica database and everything else to the primary. The service marks its reads in
+// the Reactor context; a user or task written on this instance within task.replica.stickiness is read from the
+// primary instead, so writers see their own changes whatever the replication lag. While the replica fails its
+// health check, or a connection to it cannot be opened, reads go to the primary as well.
+@Slf4j
+@Component
+public class TaskReplicaRouter implements DisposableBean {
+
+    public static final String CONNECTIONS_METRIC = "task.replica.connections";
+    public static final String HEALTH_METRIC = "task.replica.healthy";
+
+    private static final String READ_KEY = TaskReplicaRouter.class.getName() + ".read";
+    private static final Context READ = Context.of(READ_KEY, Boolean.TRUE);
+
+    private final TaskReplicaProperties properties;
+    private final Cache<String, Boolean> stickyUsers;
+    private final Cache<Long, Boolean> stickyTasks;
+    private final ConnectionPool replica;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private final Disposable healthCheck;
+    private volatile boolean replicaHealthy = true;
+
+    public TaskReplicaRouter(TaskReplicaProperties properties, ObjectProvider<ConnectionFactoryDecorator> decorators,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stickyUsers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getStickiness())
+                .build();
+        this.stickyTasks = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getStickiness())
+                .build();
+        if (!properties.isEnabled()) {
+            this.replica = null;
+            this.replicaConnections = null;
+            this.primaryConnections = null;
+            this.healthCheck = null;
+            return;
+        }
+        if (properties.getUrl() == null) {
+            throw new IllegalStateException("task.replica.url is required when task.replica.enabled is true");
+        }
+        // Built the way Spring Boot builds the primary pool, with its decorators (query observation) and metrics.
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .decorators(decorators.orderedStream().toList());
+        if (properties.getUsername() != null) {
+            builder.username(properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            builder.password(properties.getPassword());
+        }
+        this.replica = new ConnectionPool(ConnectionPoolConfiguration.builder(builder.build()).build());
+        new ConnectionPoolMetrics(replica, "replica", Tags.empty()).bindTo(meterRegistry);
+        this.replicaConnections = connections(meterRegistry, "replica");
+        this.primaryConnections = connections(meterRegistry, "primary");
+        Gauge.builder(HEALTH_METRIC, this, router -> router.replicaHealthy ? 1 : 0)
+                .description("Whether reads may go to the replica")
+                .register(meterRegistry);
+        this.healthCheck = Flux.interval(Duration.ZERO, properties.getHealthCheckInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> probe())
+                .subscribe(this::setReplicaHealthy);
+    }
+
+    // Wraps the primary so that marked reads take their connections from the replica.
+    public ConnectionFactory route(ConnectionFactory primary) {
+        if (!properties.isEnabled()) {
+            return primary;
+        }
+        if (primary instanceof TaskShardConnectionFactory) {
+            throw new IllegalStateException("task.replica cannot be combined with task.shards");
+        }
+        log.info("Routing reads to the replica at {}", properties.getUrl());
+        return new TaskReplicaConnectionFactory(primary, this);
+    }
+
+    // Marks a read made for nobody in particular, such as one shared through a cache, so it is never sticky.
+    public Context read() {
+        return properties.isEnabled() ? READ : Context.empty();
+    }
+
+    // Marks a read of a user's tasks, or one made for that user: it stays on the primary while they are sticky.
+    public Context readOfUser(String userEmail) {
+        return userEmail != null && stickyUsers.getIfPresent(userEmail) != null ? Context.empty() : read();
+    }
+
+    public Context readOfTasks(Collection<Long> ids) {
+        return ids.stream().anyMatch(id -> stickyTasks.getIfPresent(id) != null) ? Context.empty() : read();
+    }
+
+    // Keeps the owner of the task, and any reader of its ID, on the primary until the replica has caught up.
+    public void recordWrite(Task task) {
+        recordWriteOfUser(task.getUserEmail());
+        if (task.getId() != null) {
+            recordWriteOfTasks(List.of(task.getId()));
+        }
+    }
+
+    // Recorded before a write is issued as well: a read racing the write must not go to the replica and put the
+    // old row back in a cache the write has just invalidated.
+    public void recordWriteOfUser(String userEmail) {
+        if (properties.isEnabled() && userEmail != null) {
+            stickyUsers.put(userEmail, Boolean.TRUE);
+        }
+    }
+
+    public void recordWriteOfTasks(Collection<Long> ids) {
+        if (properties.isEnabled()) {
+            ids.forEach(id -> stickyTasks.put(id, Boolean.TRUE));
+        }
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    Mono<Connection> create(ConnectionFactory primary) {
+        return Mono.deferContextual(context -> {
+            if (!context.hasKey(READ_KEY) || !replicaHealthy) {
+                return createOn(primary);
+            }
+            return replica.create()
+                    .doOnSuccess(connection -> replicaConnections.increment())
+                    .onErrorResume(error -> {
+                        log.error("Error occurred while connecting to the replica: {}", error.getMessage(), error);
+                        setReplicaHealthy(false);
+                        return createOn(primary);
+                    });
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (healthCheck != null) {
+            healthCheck.dispose();
+            replica.dispose();
+        }
+    }
+
+    private Mono<Connection> createOn(ConnectionFactory primary) {
+        return Mono.<Connection>from(primary.create())
+                .doOnSuccess(connection -> primaryConnections.increment());
+    }
+
+    private Mono<Boolean> probe() {
+        return Mono.usingWhen(replica.create(),
+                        connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                        Connection::close)
+                .timeout(properties.getHealthCheckInterval())
+                .onErrorReturn(false);
+    }
+
+    private void setReplicaHealthy(boolean healthy) {
+        if (replicaHealthy == healthy) {
+            return;
+        }
+        replicaHealthy = healthy;
+        if (healthy) {
+            log.info("Replica is healthy again, reads go back to it");
+        } else {
+            log.warn("Replica is unhealthy, reads go to the primary");
+        }
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder(CONNECTIONS_METRIC)
+                .description("Connections opened for task queries, by the database serving them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -1,10 +1,35 @@
 package com.example.taskservice.repository;
 
 import com.example.taskservice.entity.Task;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public interface TaskRepository extends ReactiveCrudRepository<Task, Long> {
+public interface TaskRepository extends ReactiveCrudRepository<Task, Long>, TaskRepositoryCustom {
 
     Flux<Task> findByUserEmail(String userEmail);
+
+    @Query("SELECT * FROM tasks WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Task> findPage(Long afterId, int limit);
+
+    @Query("SELECT * FROM tasks WHERE user_email = :userEmail AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Task> findPageByUserEmail(String userEmail, Long afterId, int limit);
+
+    @Query("SELECT status, COUNT(*) AS total FROM tasks GROUP BY status")
+    Flux<TaskStatusCount> countByStatus();
+
+    @Query("SELECT status, COUNT(*) AS total FROM tasks WHERE user_email = :userEmail GROUP BY status")
+    Flux<TaskStatusCount> countByStatusAndUserEmail(String userEmail);
+
+    // Nothing narrows it, so it reads every row, at best by scanning the (user_email, id, version) index instead
+    // of the table. It still sends back a single row.
+    @Query("SELECT COUNT(*) AS total, COALESCE(MAX(id), 0) AS max_id, "
+            + "CAST(COALESCE(SUM(version), 0) AS BIGINT) AS version_sum FROM tasks")
+    Mono<TaskListVersion> findListVersion();
+
+    // Answered from the (user_email, id, version) index without reading the table.
+    @Query("SELECT COUNT(*) AS total, COALESCE(MAX(id), 0) AS max_id, "
+            + "CAST(COALESCE(SUM(version), 0) AS BIGINT) AS version_sum FROM tasks WHERE user_email = :userEmail")
+    Mono<TaskListVersion> findListVersionByUserEmail(String userEmail);
 }
@@ -0,0 +1,31 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.entity.Task;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    Flux<Task> insertAll(List<Task> tasks);
+
+    Flux<Task> deleteAllByIdReturning(Collection<Long> ids);
+
+    Mono<Task> update(Long id, Map<String, String> columns, Long expectedVersion);
+
+    Mono<Task> findById(Long id, TaskFields fields);
+
+    Flux<Task> findAllById(Collection<Long> ids, TaskFields fields);
+
+    Flux<Task> findAll(TaskFields fields);
+
+    Flux<Task> findByUserEmail(String userEmail, TaskFields fields);
+
+    Flux<Task> findPage(Long afterId, int limit, TaskFields fields);
+
+    Flux<Task> findPageByUserEmail(String userEmail, Long afterId, int limit, TaskFields fields);
+}
@@ -0,0 +1,143 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.entity.Task;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final TaskSqlDialect dialect;
+
+    public TaskRepositoryCustomImpl(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.dialect = TaskSqlDialect.of(databaseClient.getConnectionFactory());
+    }
+
+    // Inserts every task with one multi-row statement. Generated IDs follow the VALUES order, so the
+    // returned rows are sorted by ID to line them up with the input list.
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        StringJoiner values = new StringJoiner(", ");
+        // Bound in one call: each bind() on the spec copies every value bound so far.
+        Map<String, Parameter> parameters = new HashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            values.add("(:title" + i + ", :description" + i + ", :status" + i + ", :userEmail" + i + ")");
+            parameters.put("title" + i, Parameter.fromOrEmpty(task.getTitle(), String.class));
+            parameters.put("description" + i, Parameter.fromOrEmpty(task.getDescription(), String.class));
+            parameters.put("status" + i, Parameter.fromOrEmpty(task.getStatus(), String.class));
+            parameters.put("userEmail" + i, Parameter.fromOrEmpty(task.getUserEmail(), String.class));
+        }
+        String sql = dialect.returning("INSERT INTO tasks (title, description, status, user_email) VALUES " + values);
+
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .all()
+                .sort(Comparator.comparing(Task::getId));
+    }
+
+    // Deletes the given tasks and returns the ID, owner and version each had, so callers learn who owned what
+    // was removed. Only those columns come back: a cleanup of thousands of tasks would otherwise pull every
+    // description back over the wire. The other fields of the returned tasks are left null.
+    @Override
+    public Flux<Task> deleteAllByIdReturning(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        String sql = dialect.returningDeleted("DELETE FROM tasks WHERE id IN (:ids)", "id, user_email, version");
+
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .all();
+    }
+
+    // Sets the given columns and bumps the version in a single statement. When an expected version is
+    // given the row only matches if it is still at that version; no row back means no match.
+    @Override
+    public Mono<Task> update(Long id, Map<String, String> columns, Long expectedVersion) {
+        StringJoiner assignments = new StringJoiner(", ");
+        Map<String, Parameter> parameters = new HashMap<>();
+        columns.forEach((column, value) -> {
+            assignments.add(column + " = :" + column);
+            parameters.put(column, Parameter.fromOrEmpty(value, String.class));
+        });
+        assignments.add("version = version + 1");
+        parameters.put("id", Parameter.from(id));
+
+        String where = " WHERE id = :id";
+        if (expectedVersion != null) {
+            where += " AND version = :expectedVersion";
+            parameters.put("expectedVersion", Parameter.from(expectedVersion));
+        }
+        String sql = dialect.returning("UPDATE tasks SET " + assignments + where);
+
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .one();
+    }
+
+    @Override
+    public Mono<Task> findById(Long id, TaskFields fields) {
+        return select(fields, " WHERE id = :id", Map.of("id", Parameter.from(id))).singleOrEmpty();
+    }
+
+    @Override
+    public Flux<Task> findAllById(Collection<Long> ids, TaskFields fields) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return select(fields, " WHERE id IN (:ids)", Map.of("ids", Parameter.from(ids)));
+    }
+
+    @Override
+    public Flux<Task> findAll(TaskFields fields) {
+        return select(fields, "", Map.of());
+    }
+
+    @Override
+    public Flux<Task> findByUserEmail(String userEmail, TaskFields fields) {
+        return select(fields, " WHERE user_email = :userEmail", Map.of("userEmail", Parameter.from(userEmail)));
+    }
+
+    @Override
+    public Flux<Task> findPage(Long afterId, int limit, TaskFields fields) {
+        return select(fields, " WHERE id > :afterId ORDER BY id LIMIT :limit",
+                Map.of("afterId", Parameter.from(afterId), "limit", Parameter.from(limit)));
+    }
+
+    @Override
+    public Flux<Task> findPageByUserEmail(String userEmail, Long afterId, int limit, TaskFields fields) {
+        return select(fields, " WHERE user_email = :userEmail AND id > :afterId ORDER BY id LIMIT :limit",
+                Map.of("userEmail", Parameter.from(userEmail), "afterId", Parameter.from(afterId),
+                        "limit", Parameter.from(limit)));
+    }
+
+    // Reads only the columns of the fieldset, so unselected ones such as description never leave the database.
+    // Columns missing from the row are left null on the returned task.
+    private Flux<Task> select(TaskFields fields, String condition, Map<String, Parameter> parameters) {
+        return databaseClient.sql("SELECT " + fields.toColumns() + " FROM tasks" + condition)
+                .bindValues(parameters)
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .all();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.taskservice.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hands out connections of the shard named in the Reactor context of the subscriber. There is no default shard:
+// a query nobody routed fails instead of silently reading or writing whichever database happens to be first.
+//
+// Tasks of a user live on the shard their email hashes to. Shard k of n generates the IDs k, k + n, k + 2n...
+// (see TaskShardSchemaInitializer), so IDs are unique across shards and every ID names the shard that holds it.
+public class TaskShardConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+
+    private static final String SHARD_KEY = TaskShardConnectionFactory.class.getName() + ".shard";
+
+    private final List<ConnectionFactory> shards;
+
+    public TaskShardConnectionFactory(List<ConnectionFactory> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        Map<Integer, ConnectionFactory> targets = new HashMap<>();
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            targets.put(shard, this.shards.get(shard));
+        }
+        setTargetConnectionFactories(targets);
+        initialize();
+    }
+
+    // Routes every query of the publisher it is written into to the given shard.
+    public static Context shard(int shard) {
+        return Context.of(SHARD_KEY, shard);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public List<ConnectionFactory> getShards() {
+        return shards;
+    }
+
+    // String.hashCode is fixed by the language, so a user keeps their shard across restarts and JVMs.
+    public int shardOf(String userEmail) {
+        return userEmail == null ? 0 : Math.floorMod(userEmail.hashCode(), shards.size());
+    }
+
+    public int shardOf(Long id) {
+        return (int) Math.floorMod(id, (long) shards.size());
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(SHARD_KEY)));
+    }
+
+    // Every shard runs the same database, so any of them describes all of them.
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return shards.get(0).getMetadata();
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(shard -> {
+            if (shard instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.autoconfigure.sql.init.SqlR2dbcScriptDatabaseInitializer;
+import org.springframework.boot.r2dbc.EmbeddedDatabaseConnection;
+import org.springframework.core.io.Resource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+// Runs the spring.sql.init scripts on every shard instead of on the routing connection factory, which cannot
+// pick a shard on its own. Then interleaves the identity columns: shard k of n generates k, k + n, k + 2n...
+// above the rows it already holds. A shard already stepping by n is left alone, so restarts and further
+// instances do not move its sequence under concurrent inserts.
+@Slf4j
+public class TaskShardSchemaInitializer extends SqlR2dbcScriptDatabaseInitializer {
+
+    private final TaskShardConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final TaskSqlDialect dialect;
+
+    public TaskShardSchemaInitializer(TaskShardConnectionFactory connectionFactory, SqlInitializationProperties properties) {
+        super(connectionFactory, properties);
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.dialect = TaskSqlDialect.of(connectionFactory);
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        boolean initialized = super.initializeDatabase();
+        for (int shard = 0; shard < connectionFactory.getShardCount(); shard++) {
+            interleaveIds(shard)
+                    .contextWrite(TaskShardConnectionFactory.shard(shard))
+                    .block();
+        }
+        return initialized;
+    }
+
+    @Override
+    protected boolean isEmbeddedDatabase() {
+        return connectionFactory.getShards().stream().allMatch(EmbeddedDatabaseConnection::isEmbedded);
+    }
+
+    @Override
+    protected void runScripts(Scripts scripts) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.setContinueOnError(scripts.isContinueOnError());
+        populator.setSeparator(scripts.getSeparator());
+        if (scripts.getEncoding() != null) {
+            populator.setSqlScriptEncoding(scripts.getEncoding().name());
+        }
+        for (Resource resource : scripts) {
+            populator.addScript(resource);
+        }
+        for (int shard = 0; shard < connectionFactory.getShardCount(); shard++) {
+            populator.populate(connectionFactory)
+                    .contextWrite(TaskShardConnectionFactory.shard(shard))
+                    .block();
+        }
+    }
+
+    private Mono<Void> interleaveIds(int shard) {
+        int shardCount = connectionFactory.getShardCount();
+        return databaseClient.sql(dialect.identityIncrement())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .filter(increment -> increment != shardCount)
+                .flatMap(increment -> databaseClient.sql("SELECT CAST(COALESCE(MAX(id), 0) AS BIGINT) FROM tasks")
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .flatMap(maxId -> {
+                    long start = maxId + 1 + Math.floorMod(shard - (maxId + 1), shardCount);
+                    log.info("Shard {} of {} generates task IDs from {} in steps of {}", shard, shardCount, start, shardCount);
+                    return databaseClient.sql(dialect.restartIdentity(start, shardCount)).then();
+                });
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.taskservice.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+public enum TaskSqlDialect {
+
+    H2 {
+        @Override
+        String returning(String dml) {
+            return "SELECT * FROM FINAL TABLE (" + dml + ")";
+        }
+
+        @Override
+        String returningDeleted(String delete, String columns) {
+            return "SELECT " + columns + " FROM OLD TABLE (" + delete + ")";
+        }
+
+        @Override
+        String identityIncrement() {
+            return "SELECT identity_increment FROM information_schema.columns"
+                    + " WHERE table_name = 'TASKS' AND column_name = 'ID'";
+        }
+
+        @Override
+        String restartIdentity(long start, int increment) {
+            return "ALTER TABLE tasks ALTER COLUMN id RESTART WITH " + start + " SET INCREMENT BY " + increment;
+        }
+    },
+    POSTGRES {
+        @Override
+        String returning(String dml) {
+            return dml + " RETURNING *";
+        }
+
+        @Override
+        String returningDeleted(String delete, String columns) {
+            return delete + " RETURNING " + columns;
+        }
+
+        // The id column is a SERIAL, so its values come from the sequence PostgreSQL created along with it.
+        @Override
+        String identityIncrement() {
+            return "SELECT increment_by FROM pg_sequences WHERE sequencename = 'tasks_id_seq'";
+        }
+
+        @Override
+        String restartIdentity(long start, int increment) {
+            return "ALTER SEQUENCE tasks_id_seq INCREMENT BY " + increment + " RESTART WITH " + start;
+        }
+    };
+
+    // Wraps an INSERT or UPDATE so the affected rows come back from the same round trip.
+    abstract String returning(String dml);
+
+    // Wraps a DELETE so the given columns of the rows as they were before removal come back from the same round trip.
+    abstract String returningDeleted(String delete, String columns);
+
+    // Selects the step between the IDs generated for new tasks.
+    abstract String identityIncrement();
+
+    // Makes the next generated ID the given start and every following one the given increment higher.
+    abstract String restartIdentity(long start, int increment);
+
+    public static TaskSqlDialect of(ConnectionFactory connectionFactory) {
+        return "H2".equalsIgnoreCase(connectionFactory.getMetadata().getName()) ? H2 : POSTGRES;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskservice.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCount {
+
+    private String status;
+    private Long total;
+}
@@ -0,0 +1,58 @@
+package com.example.taskservice.search;
+
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+// Serves search from an in-process inverted index for databases without full-text support (H2).
+// The index is filled once at startup and then kept current by the service on every write.
+@Slf4j
+public class InMemoryTaskSearchEngine implements TaskSearchEngine {
+
+    private final InvertedTaskIndex index = new InvertedTaskIndex();
+    private final TaskRepository taskRepository;
+
+    public InMemoryTaskSearchEngine(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building in-memory search index");
+        taskRepository.findAll()
+                .doOnNext(this::index)
+                .count()
+                .subscribe(count -> log.info("In-memory search index built with {} tasks", count),
+                        error -> log.error("Error occurred while building search index: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Flux<Task> search(String query, String userEmail, long offset, int limit) {
+        return Mono.fromCallable(() -> index.search(query, userEmail, offset, limit))
+                .flatMapMany(ids -> ids.isEmpty() ? Flux.empty() : load(ids));
+    }
+
+    @Override
+    public void index(Task task) {
+        index.put(task.getId(), task.getUserEmail(), task.getVersion(), task.getTitle(), task.getDescription());
+    }
+
+    @Override
+    public void remove(Long id) {
+        index.remove(id);
+    }
+
+    // Rows come back in any order, so they are put back into rank order; rows deleted meanwhile are skipped.
+    private Flux<Task> load(List<Long> ids) {
+        return taskRepository.findAllById(ids)
+                .collectMap(Task::getId)
+                .flatMapIterable(tasksById -> ids.stream().map(tasksById::get).filter(Objects::nonNull).toList());
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.taskservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Term -> postings of task ids, ranked with BM25. Writes replace a single document in place, so the index is
+// never rebuilt to reflect a change. Readers share a read lock; writers hold the write lock for one document.
+public class InvertedTaskIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // Older versions are ignored, so a startup load racing with live writes cannot bring back stale text.
+    public void put(Long id, String userEmail, Long version, String title, String description) {
+        long newVersion = version == null ? -1 : version;
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        int length = 0;
+        for (String text : new String[]{title, description}) {
+            for (String term : tokenize(text)) {
+                frequencies.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            if (existing != null && existing.version() > newVersion) {
+                return;
+            }
+            if (existing != null) {
+                // Terms the new text still contains are updated in place; only dropped terms are removed.
+                removePostings(id, existing, frequencies);
+                totalLength -= existing.length();
+            }
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings postings = postingsByTerm.computeIfAbsent(entry.getKey(), Postings::new);
+                postings.put(id, entry.getValue());
+                // The postings' own copy of the term is shared by every document that contains it.
+                terms[i++] = postings.term;
+            }
+            documents.put(id, new Document(userEmail, newVersion, terms, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(id);
+            if (document != null) {
+                removePostings(id, document, Map.of());
+                totalLength -= document.length();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the documents containing every query term, by descending score and then ascending id.
+    public List<Long> search(String query, String userEmail, long offset, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) {
+                    return List.of();
+                }
+                matched.add(postings);
+            }
+            // Walking the rarest term and probing the others keeps the cost bound to the smallest list.
+            matched.sort(Comparator.comparingInt(Postings::size));
+            double[] idf = new double[matched.size()];
+            for (int t = 0; t < matched.size(); t++) {
+                int documentFrequency = matched.get(t).size();
+                idf[t] = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+            double averageLength = documents.isEmpty() ? 1 : Math.max(1, (double) totalLength / documents.size());
+            long wanted = Math.min(offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+            int[] frequencies = new int[matched.size()];
+
+            List<Postings.Cursor> cursors = matched.stream().map(Postings::cursor).toList();
+            for (Postings.Cursor rarest = cursors.get(0); rarest.hasNext(); rarest.next()) {
+                long id = rarest.id();
+                frequencies[0] = rarest.frequency();
+                boolean containsAll = true;
+                for (int t = 1; t < cursors.size() && containsAll; t++) {
+                    frequencies[t] = cursors.get(t).advance(id);
+                    containsAll = frequencies[t] > 0;
+                }
+                if (!containsAll) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (userEmail != null && !userEmail.equals(document.userEmail())) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * document.length() / averageLength);
+                double score = 0;
+                for (int t = 0; t < matched.size(); t++) {
+                    score += idf[t] * bm25(frequencies[t], norm);
+                }
+                top.add(new Hit(id, score));
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            Hit[] ranked = top.toArray(new Hit[0]);
+            Arrays.sort(ranked, Hit.WORST_FIRST.reversed());
+            List<Long> ids = new ArrayList<>(limit);
+            for (long r = offset; r < ranked.length; r++) {
+                ids.add(ranked[(int) r].id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased runs of letters and digits, close to what the 'simple' text search configuration produces.
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static double bm25(int frequency, double norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private void removePostings(Long id, Document document, Map<String, Integer> kept) {
+        for (String term : document.terms()) {
+            if (kept.containsKey(term)) {
+                continue;
+            }
+            Postings postings = postingsByTerm.get(term);
+            if (postings != null && postings.remove(id) && postings.size() == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+    }
+
+    private record Document(String userEmail, long version, String[] terms, int length) {
+    }
+
+    private record Hit(long id, double score) {
+
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+    }
+}
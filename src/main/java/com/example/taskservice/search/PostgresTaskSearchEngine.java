@@ -0,0 +1,76 @@
+package com.example.taskservice.search;
+
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskShardConnectionFactory;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Searches the search_vector column declared in schema-postgresql.sql. The column is generated from title
+// and description, so PostgreSQL maintains it and its GIN index on every write.
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+
+    private static final String SELECT = "SELECT id, title, description, status, user_email, version,"
+            + " ts_rank(search_vector, query) AS rank"
+            + " FROM tasks, plainto_tsquery('simple', :query) query"
+            + " WHERE search_vector @@ query";
+    private static final String ORDER = " ORDER BY rank DESC, id LIMIT :limit OFFSET :offset";
+    private static final Comparator<RankedTask> BY_RANK = Comparator.comparing(RankedTask::rank).reversed()
+            .thenComparing(ranked -> ranked.task().getId());
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final TaskShardConnectionFactory shards;
+
+    public PostgresTaskSearchEngine(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this(databaseClient, converter, null);
+    }
+
+    public PostgresTaskSearchEngine(DatabaseClient databaseClient, R2dbcConverter converter,
+                                    TaskShardConnectionFactory shards) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.shards = shards;
+    }
+
+    // With shards, a user's search runs on their shard only. A search of all tasks asks every shard for its
+    // best offset + limit matches and merges them by rank, so deep pages cost more the more shards there are.
+    @Override
+    public Flux<Task> search(String query, String userEmail, long offset, int limit) {
+        if (shards == null) {
+            return query(query, userEmail, offset, limit).map(RankedTask::task);
+        }
+        if (userEmail != null) {
+            return query(query, userEmail, offset, limit)
+                    .map(RankedTask::task)
+                    .contextWrite(TaskShardConnectionFactory.shard(shards.shardOf(userEmail)));
+        }
+        @SuppressWarnings("unchecked")
+        Flux<RankedTask>[] ranked = IntStream.range(0, shards.getShardCount())
+                .mapToObj(shard -> query(query, null, 0, offset + limit)
+                        .contextWrite(TaskShardConnectionFactory.shard(shard)))
+                .toArray(Flux[]::new);
+        return Flux.mergeComparing(BY_RANK, ranked)
+                .skip(offset)
+                .take(limit)
+                .map(RankedTask::task);
+    }
+
+    private Flux<RankedTask> query(String query, String userEmail, long offset, long limit) {
+        DatabaseClient.GenericExecuteSpec spec = userEmail == null
+                ? databaseClient.sql(SELECT + ORDER)
+                : databaseClient.sql(SELECT + " AND user_email = :userEmail" + ORDER).bind("userEmail", userEmail);
+        return spec
+                .bind("query", query)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new RankedTask(converter.read(Task.class, row, metadata), row.get("rank", Float.class)))
+                .all();
+    }
+
+    private record RankedTask(Task task, Float rank) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.taskservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sorted task ids of one term with their term frequencies, kept in blocks of at most BLOCK_SIZE entries.
+// Inserting or removing an id shifts one block instead of the whole list, which matters for common terms.
+final class Postings {
+
+    static final int BLOCK_SIZE = 512;
+
+    final String term;
+    private final List<Block> blocks = new ArrayList<>();
+    private int size;
+
+    Postings(String term) {
+        this.term = term;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void put(long id, int frequency) {
+        if (blocks.isEmpty()) {
+            blocks.add(new Block());
+        }
+        int blockIndex = blockFor(id);
+        Block block = blocks.get(blockIndex);
+        if (block.put(id, frequency)) {
+            size++;
+            if (block.size == BLOCK_SIZE) {
+                blocks.add(blockIndex + 1, block.split());
+            }
+        }
+    }
+
+    boolean remove(long id) {
+        if (blocks.isEmpty()) {
+            return false;
+        }
+        int blockIndex = blockFor(id);
+        Block block = blocks.get(blockIndex);
+        if (!block.remove(id)) {
+            return false;
+        }
+        size--;
+        if (block.size == 0) {
+            blocks.remove(blockIndex);
+        }
+        return true;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Last block whose first id is not above the given id, or the first block.
+    private int blockFor(long id) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blocks.get(middle).ids[0] <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    // Walks the ids in ascending order; advance() only moves forward, so intersecting lists stays linear.
+    final class Cursor {
+
+        private int blockIndex;
+        private Block block = blocks.isEmpty() ? null : blocks.get(0);
+        private int position;
+
+        boolean hasNext() {
+            return block != null;
+        }
+
+        long id() {
+            return block.ids[position];
+        }
+
+        int frequency() {
+            return block.frequencies[position];
+        }
+
+        void next() {
+            if (++position == block.size) {
+                nextBlock();
+            }
+        }
+
+        // Frequency of the id, or 0 when absent; ids passed in must not decrease between calls.
+        int advance(long id) {
+            while (block != null && block.lastId() < id) {
+                nextBlock();
+            }
+            if (block == null) {
+                return 0;
+            }
+            int found = Arrays.binarySearch(block.ids, position, block.size, id);
+            position = found >= 0 ? found : -found - 1;
+            return found >= 0 ? block.frequencies[found] : 0;
+        }
+
+        private void nextBlock() {
+            blockIndex++;
+            block = blockIndex < blocks.size() ? blocks.get(blockIndex) : null;
+            position = 0;
+        }
+    }
+
+    private static final class Block {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        long lastId() {
+            return ids[size - 1];
+        }
+
+        // Returns whether the id is new to the block.
+        boolean put(long id, int frequency) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return false;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.min(size * 2, BLOCK_SIZE));
+                frequencies = Arrays.copyOf(frequencies, ids.length);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            ids[position] = id;
+            frequencies[position] = frequency;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        // Moves the upper half into a new block and returns it.
+        Block split() {
+            int half = size / 2;
+            Block upper = new Block();
+            upper.ids = Arrays.copyOfRange(ids, half, BLOCK_SIZE);
+            upper.frequencies = Arrays.copyOfRange(frequencies, half, BLOCK_SIZE);
+            upper.size = size - half;
+            size = half;
+            return upper;
+        }
+    }
+}
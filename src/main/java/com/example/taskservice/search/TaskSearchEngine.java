@@ -0,0 +1,17 @@
+package com.example.taskservice.search;
+
+import com.example.taskservice.entity.Task;
+import reactor.core.publisher.Flux;
+
+public interface TaskSearchEngine {
+
+    // Tasks matching every term of the query, best ranked first; a null user email searches all tasks.
+    Flux<Task> search(String query, String userEmail, long offset, int limit);
+
+    // Engines backed by a database index keep themselves up to date, so writes are no-ops by default.
+    default void index(Task task) {
+    }
+
+    default void remove(Long id) {
+    }
+}
@@ -1,23 +1,77 @@
 package com.example.taskservice.service;
 
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.example.taskservice.dto.TaskImportResultDTO;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface TaskService {
 
     Mono<TaskResponseDTO> createTask(TaskRequestDTO taskRequestDTO);
 
     Mono<TaskResponseDTO> createTask(String userEmail, TaskRequestDTO taskRequestDTO);
 
+    Flux<TaskBatchResultDTO> createTasks(String userEmail, Flux<TaskRequestDTO> taskRequestDTOs);
+
     Mono<TaskResponseDTO> getTaskById(Long id);
 
+    Mono<TaskResponseDTO> getTaskById(Long id, String fields);
+
+    Flux<TaskResponseDTO> getTasksByIds(Collection<Long> ids);
+
+    Flux<TaskResponseDTO> getTasksByIds(Collection<Long> ids, String fields);
+
     Flux<TaskResponseDTO> getAllTasks();
 
+    Flux<TaskResponseDTO> getAllTasks(String readerEmail, String fields);
+
     Flux<TaskResponseDTO> getAllTasksByUserEmail(String userEmail);
 
+    Flux<TaskResponseDTO> getAllTasksByUserEmail(String userEmail, String fields);
+
+    Mono<String> getTasksVersion(String readerEmail);
+
+    Mono<String> getTasksVersionByUserEmail(String userEmail);
+
+    Mono<TaskPageDTO> getTasksPage(String cursor, int limit);
+
+    Mono<TaskPageDTO> getTasksPage(String readerEmail, String cursor, int limit, String fields);
+
+    Mono<TaskPageDTO> getTasksPageByUserEmail(String userEmail, String cursor, int limit);
+
+    Mono<TaskPageDTO> getTasksPageByUserEmail(String userEmail, String cursor, int limit, String fields);
+
+    Mono<TaskPageDTO> searchTasks(String query, String cursor, int limit);
+
+    Mono<TaskPageDTO> searchTasksByUserEmail(String userEmail, String query, String cursor, int limit);
+
+    Mono<TaskStatsDTO> getTaskStats();
+
+    Mono<TaskStatsDTO> getTaskStatsByUserEmail(String userEmail);
+
     Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO);
 
+    Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO, Long expectedVersion);
+
+    Mono<TaskResponseDTO> patchTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO, Long expectedVersion);
+
     Mono<Void> deleteTask(Long id);
+
+    Mono<TaskDeleteResultDTO> deleteTasks(Collection<Long> ids);
+
+    Flux<TaskChangeDTO> getTaskChanges(String userEmail, String lastEventId);
+
+    Flux<TaskExportDTO> exportTasks(String readerEmail);
+
+    Mono<TaskImportResultDTO> importTasks(String userEmail, Flux<TaskExportDTO> taskExportDTOs);
 }
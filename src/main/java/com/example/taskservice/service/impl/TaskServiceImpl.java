@@ -1,19 +1,72 @@
 package com.example.taskservice.service.impl;
 
+import com.example.taskservice.cache.TaskCache;
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.cache.TaskLoadCoalescer;
+import com.example.taskservice.cache.TaskStatsCache;
+import com.example.taskservice.commons.TaskCursor;
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.config.TaskBatchProperties;
+import com.example.taskservice.dto.TaskBatchItemStatus;
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskChangeType;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.example.taskservice.dto.TaskImportResultDTO;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
 import com.example.taskservice.entity.Task;
+import com.example.taskservice.exception.BadRequestException;
+import com.example.taskservice.exception.TaskConflictException;
 import com.example.taskservice.exception.TaskNotFoundException;
+import com.example.taskservice.feed.TaskChangeFeed;
 import com.example.taskservice.mapper.TaskMapper;
+import com.example.taskservice.repository.TaskBatchLoader;
+import com.example.taskservice.repository.TaskInsertBatcher;
+import com.example.taskservice.repository.TaskListVersion;
+import com.example.taskservice.repository.TaskReplicaRouter;
 import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskStatusCount;
+import com.example.taskservice.search.TaskSearchEngine;
 import com.example.taskservice.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.example.taskservice.commons.Constants.EXPECTED_VERSION;
+import static com.example.taskservice.commons.Constants.IDS_ARE_REQUIRED;
+import static com.example.taskservice.commons.Constants.LIMIT_IS_NOT_VALID;
+import static com.example.taskservice.commons.Constants.MAX_IMPORT_FAILURES;
+import static com.example.taskservice.commons.Constants.MAX_PAGE_SIZE;
+import static com.example.taskservice.commons.Constants.PATCH_IS_EMPTY;
+import static com.example.taskservice.commons.Constants.REQUEST_BODY_IS_REQUIRED;
+import static com.example.taskservice.commons.Constants.SEARCH_QUERY_IS_REQUIRED;
 import static com.example.taskservice.commons.Constants.TASK_NOT_FOUND_ID;
+import static com.example.taskservice.commons.Constants.TASK_VERSION_CONFLICT_ID;
+import static com.example.taskservice.commons.Constants.TOO_MANY_IDS;
 
 @Slf4j
 @Service
@@ -21,15 +74,31 @@ import static com.example.taskservice.commons.Constants.TASK_NOT_FOUND_ID;
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskBatchLoader taskBatchLoader;
+    private final TaskInsertBatcher taskInsertBatcher;
     private final TaskMapper taskMapper;
+    private final TaskCache taskCache;
+    private final TaskJsonCache taskJsonCache;
+    private final TaskLoadCoalescer taskLoadCoalescer;
+    private final TaskStatsCache taskStatsCache;
+    private final TaskSearchEngine taskSearchEngine;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskReplicaRouter taskReplicaRouter;
+    private final Validator validator;
+    private final TaskBatchProperties taskBatchProperties;
 
     @Override
     public Mono<TaskResponseDTO> createTask(TaskRequestDTO taskRequestDTO) {
         log.info("Creating task with title: {}", taskRequestDTO.getTitle());
         Task task = taskMapper.toEntity(taskRequestDTO);
-        return taskRepository.save(task)
-                .doOnSuccess(savedTask -> log.debug("Task created successfully with ID: {}", savedTask.getId()))
-                .map(taskMapper::toResponseDto)
+        return taskInsertBatcher.insert(task)
+                .doOnSuccess(savedTask -> {
+                    taskReplicaRouter.recordWrite(savedTask);
+                    taskStatsCache.invalidate(savedTask.getUserEmail());
+                    taskSearchEngine.index(savedTask);
+                    log.debug("Task created successfully with ID: {}", savedTask.getId());
+                })
+                .map(savedTask -> publish(TaskChangeType.CREATED, savedTask))
                 .doOnError(error -> log.error("Error occurred while creating task: {}", error.getMessage(), error));
     }
 
@@ -38,29 +107,88 @@ public class TaskServiceImpl implements TaskService {
         log.info("Creating task with user email: {} and title: {}", userEmail, taskRequestDTO.getTitle());
         Task task = taskMapper.toEntity(taskRequestDTO);
         task.setUserEmail(userEmail);
-        return taskRepository.save(task)
-                .doOnSuccess(savedTask ->
-                        log.debug("Task created successfully with ID: {}, and user email: {}",
-                                savedTask.getId(), savedTask.getUserEmail())
-                )
-                .map(taskMapper::toResponseDto)
+        return Mono.defer(() -> {
+                    taskReplicaRouter.recordWriteOfUser(userEmail);
+                    return taskInsertBatcher.insert(task);
+                })
+                .doOnSuccess(savedTask -> {
+                    taskReplicaRouter.recordWrite(savedTask);
+                    taskStatsCache.invalidate(savedTask.getUserEmail());
+                    taskSearchEngine.index(savedTask);
+                    log.debug("Task created successfully with ID: {}, and user email: {}",
+                            savedTask.getId(), savedTask.getUserEmail());
+                })
+                .map(savedTask -> publish(TaskChangeType.CREATED, savedTask))
                 .doOnError(error -> log.error("Error occurred while creating task: {}", error.getMessage(), error));
     }
 
+    @Override
+    public Flux<TaskBatchResultDTO> createTasks(String userEmail, Flux<TaskRequestDTO> taskRequestDTOs) {
+        log.info("Creating tasks in batches of {} with user email: {}", taskBatchProperties.getChunkSize(), userEmail);
+        return taskRequestDTOs
+                .index()
+                .buffer(taskBatchProperties.getChunkSize())
+                .concatMap(chunk -> createChunk(chunk, Collections.nCopies(chunk.size(), userEmail))
+                        .doOnComplete(() -> taskStatsCache.invalidate(userEmail)))
+                .doOnComplete(() -> log.debug("Batch of tasks processed for user email: {}", userEmail))
+                .doOnError(error -> log.error("Error occurred while creating tasks: {}", error.getMessage(), error));
+    }
+
     @Override
     public Mono<TaskResponseDTO> getTaskById(Long id) {
+        return getTaskById(id, null);
+    }
+
+    @Override
+    public Mono<TaskResponseDTO> getTaskById(Long id, String fields) {
         log.info("Fetching task with ID: {}", id);
-        return taskRepository.findById(id)
+        return loadTask(id, fields)
                 .map(taskMapper::toResponseDto)
                 .doOnSuccess(task -> log.debug("Task retrieved successfully: {}", task))
                 .switchIfEmpty(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + id)))
                 .doOnError(error -> log.error("Error occurred while fetching task: {}", error.getMessage(), error));
     }
 
+    @Override
+    public Flux<TaskResponseDTO> getTasksByIds(Collection<Long> ids) {
+        return getTasksByIds(ids, null);
+    }
+
+    // Missing IDs are left out; the rest keep the requested order. Uncached IDs share batched IN (...) queries.
+    @Override
+    public Flux<TaskResponseDTO> getTasksByIds(Collection<Long> ids, String fields) {
+        log.info("Fetching {} tasks by ID", ids == null ? 0 : ids.size());
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            return Flux.error(new BadRequestException(IDS_ARE_REQUIRED));
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > MAX_PAGE_SIZE) {
+            return Flux.error(new BadRequestException(TOO_MANY_IDS));
+        }
+        return Mono.fromCallable(() -> TaskFields.parse(fields))
+                .flatMapMany(taskFields -> taskFields.isAll()
+                        ? Flux.fromIterable(uniqueIds).flatMapSequential(this::loadTask)
+                        : taskRepository.findAllById(uniqueIds, taskFields)
+                                .contextWrite(taskReplicaRouter.readOfTasks(uniqueIds))
+                                .collectMap(Task::getId)
+                                .flatMapIterable(tasksById -> uniqueIds.stream().map(tasksById::get).filter(Objects::nonNull).toList()))
+                .map(taskMapper::toResponseDto)
+                .doOnComplete(() -> log.debug("Tasks retrieved successfully for {} IDs", uniqueIds.size()))
+                .doOnError(error -> log.error("Error occurred while fetching tasks: {}", error.getMessage(), error));
+    }
+
     @Override
     public Flux<TaskResponseDTO> getAllTasks() {
-        log.info("Fetching all tasks");
-        return taskRepository.findAll()
+        return getAllTasks(null, null);
+    }
+
+    // Reads of every task are sticky for the user asking, so they see their own writes in the list.
+    @Override
+    public Flux<TaskResponseDTO> getAllTasks(String readerEmail, String fields) {
+        log.info("Fetching all tasks for User email: {} with fields: {}", readerEmail, fields);
+        return Mono.fromCallable(() -> TaskFields.parse(fields))
+                .flatMapMany(taskFields -> taskFields.isAll() ? taskRepository.findAll() : taskRepository.findAll(taskFields))
+                .contextWrite(taskReplicaRouter.readOfUser(readerEmail))
                 .map(taskMapper::toResponseDto)
                 .doOnComplete(() -> log.debug("All tasks fetched successfully"))
                 .doOnError(error -> log.error("Error occurred while fetching all tasks: {}", error.getMessage(), error));
@@ -68,38 +196,408 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public Flux<TaskResponseDTO> getAllTasksByUserEmail(String userEmail) {
-        log.info("Fetching all tasks with User email: {}", userEmail);
-        return taskRepository.findByUserEmail(userEmail)
+        return getAllTasksByUserEmail(userEmail, null);
+    }
+
+    @Override
+    public Flux<TaskResponseDTO> getAllTasksByUserEmail(String userEmail, String fields) {
+        log.info("Fetching all tasks with User email: {} and fields: {}", userEmail, fields);
+        return Mono.fromCallable(() -> TaskFields.parse(fields))
+                .flatMapMany(taskFields -> taskFields.isAll()
+                        ? taskRepository.findByUserEmail(userEmail)
+                        : taskRepository.findByUserEmail(userEmail, taskFields))
+                .contextWrite(taskReplicaRouter.readOfUser(userEmail))
                 .map(taskMapper::toResponseDto)
                 .doOnComplete(() -> log.debug("All tasks that belongs to email {}, fetched successfully", userEmail))
                 .doOnError(error -> log.error("Error occurred while fetching all tasks: {}", error.getMessage(), error));
     }
 
+    // Read in place of the rows to tell whether a client's copy of the list is still current.
+    @Override
+    public Mono<String> getTasksVersion(String readerEmail) {
+        log.info("Fetching version of all tasks for User email: {}", readerEmail);
+        return taskRepository.findListVersion()
+                .contextWrite(taskReplicaRouter.readOfUser(readerEmail))
+                .map(TaskListVersion::toETagValue)
+                .doOnSuccess(version -> log.debug("Version of all tasks fetched successfully: {}", version))
+                .doOnError(error -> log.error("Error occurred while fetching version of all tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<String> getTasksVersionByUserEmail(String userEmail) {
+        log.info("Fetching version of all tasks with User email: {}", userEmail);
+        return taskRepository.findListVersionByUserEmail(userEmail)
+                .contextWrite(taskReplicaRouter.readOfUser(userEmail))
+                .map(TaskListVersion::toETagValue)
+                .doOnSuccess(version -> log.debug("Version of all tasks that belongs to email {}, fetched successfully: {}", userEmail, version))
+                .doOnError(error -> log.error("Error occurred while fetching version of all tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskPageDTO> getTasksPage(String cursor, int limit) {
+        return getTasksPage(null, cursor, limit, null);
+    }
+
+    @Override
+    public Mono<TaskPageDTO> getTasksPage(String readerEmail, String cursor, int limit, String fields) {
+        log.info("Fetching page of tasks for User email: {} after cursor: {} with limit: {} and fields: {}",
+                readerEmail, cursor, limit, fields);
+        return Mono.fromCallable(() -> validatePage(cursor, limit))
+                .flatMap(afterId -> {
+                    TaskFields taskFields = TaskFields.parse(fields);
+                    return toPage(taskFields.isAll()
+                            ? taskRepository.findPage(afterId, limit + 1)
+                            : taskRepository.findPage(afterId, limit + 1, taskFields), limit);
+                })
+                .contextWrite(taskReplicaRouter.readOfUser(readerEmail))
+                .doOnSuccess(page -> log.debug("Page of {} tasks fetched successfully", page.getContent().size()))
+                .doOnError(error -> log.error("Error occurred while fetching page of tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskPageDTO> getTasksPageByUserEmail(String userEmail, String cursor, int limit) {
+        return getTasksPageByUserEmail(userEmail, cursor, limit, null);
+    }
+
+    @Override
+    public Mono<TaskPageDTO> getTasksPageByUserEmail(String userEmail, String cursor, int limit, String fields) {
+        log.info("Fetching page of tasks with User email: {} after cursor: {} with limit: {} and fields: {}",
+                userEmail, cursor, limit, fields);
+        return Mono.fromCallable(() -> validatePage(cursor, limit))
+                .flatMap(afterId -> {
+                    TaskFields taskFields = TaskFields.parse(fields);
+                    return toPage(taskFields.isAll()
+                            ? taskRepository.findPageByUserEmail(userEmail, afterId, limit + 1)
+                            : taskRepository.findPageByUserEmail(userEmail, afterId, limit + 1, taskFields), limit);
+                })
+                .contextWrite(taskReplicaRouter.readOfUser(userEmail))
+                .doOnSuccess(page -> log.debug("Page of {} tasks that belongs to email {}, fetched successfully",
+                        page.getContent().size(), userEmail))
+                .doOnError(error -> log.error("Error occurred while fetching page of tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskPageDTO> searchTasks(String query, String cursor, int limit) {
+        log.info("Searching tasks for: {} after cursor: {} with limit: {}", query, cursor, limit);
+        return searchPage(query, null, cursor, limit)
+                .doOnSuccess(page -> log.debug("Page of {} matching tasks fetched successfully", page.getContent().size()))
+                .doOnError(error -> log.error("Error occurred while searching tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskPageDTO> searchTasksByUserEmail(String userEmail, String query, String cursor, int limit) {
+        log.info("Searching tasks with User email: {} for: {} after cursor: {} with limit: {}", userEmail, query, cursor, limit);
+        return searchPage(query, userEmail, cursor, limit)
+                .doOnSuccess(page -> log.debug("Page of {} matching tasks that belongs to email {}, fetched successfully",
+                        page.getContent().size(), userEmail))
+                .doOnError(error -> log.error("Error occurred while searching tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskStatsDTO> getTaskStats() {
+        log.info("Fetching task stats");
+        return taskStatsCache.getAll(() -> toStats(taskRepository.countByStatus()).contextWrite(taskReplicaRouter.read()))
+                .doOnSuccess(stats -> log.debug("Task stats fetched successfully: {}", stats))
+                .doOnError(error -> log.error("Error occurred while fetching task stats: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Mono<TaskStatsDTO> getTaskStatsByUserEmail(String userEmail) {
+        log.info("Fetching task stats with User email: {}", userEmail);
+        return taskStatsCache.getByUserEmail(userEmail, () -> toStats(taskRepository.countByStatusAndUserEmail(userEmail))
+                        .contextWrite(taskReplicaRouter.readOfUser(userEmail)))
+                .doOnSuccess(stats -> log.debug("Task stats that belongs to email {}, fetched successfully: {}", userEmail, stats))
+                .doOnError(error -> log.error("Error occurred while fetching task stats: {}", error.getMessage(), error));
+    }
+
     @Override
     public Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO) {
-        log.info("Updating task with ID: {}", id);
-        return taskRepository.findById(id)
-                .switchIfEmpty(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + id)))
-                .flatMap(existingTask -> updateExistingTask(existingTask, taskRequestDTO))
-                .map(taskMapper::toResponseDto)
-                .doOnSuccess(updatedTask -> log.debug("Task updated successfully with ID: {}", updatedTask.getId()))
+        return updateTask(id, taskRequestDTO, null);
+    }
+
+    @Override
+    public Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO, Long expectedVersion) {
+        log.info("Updating task with ID: {} and expected version: {}", id, expectedVersion);
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("title", taskRequestDTO.getTitle());
+        columns.put("description", taskRequestDTO.getDescription());
+        columns.put("status", taskRequestDTO.getStatus());
+        return applyUpdate(id, columns, expectedVersion)
+                .doOnSuccess(updatedTask -> log.debug("Task updated successfully with ID: {} to version: {}",
+                        updatedTask.getId(), updatedTask.getVersion()))
                 .doOnError(error -> log.error("Error occurred while updating task: {}", error.getMessage(), error));
     }
 
+    @Override
+    public Mono<TaskResponseDTO> patchTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO, Long expectedVersion) {
+        log.info("Patching task with ID: {} and expected version: {}", id, expectedVersion);
+        // Only the fields present in the document are written, so a status change leaves the description alone.
+        Map<String, String> columns = new LinkedHashMap<>();
+        if (taskPatchRequestDTO.getTitle() != null) {
+            columns.put("title", taskPatchRequestDTO.getTitle());
+        }
+        if (taskPatchRequestDTO.getDescription() != null) {
+            columns.put("description", taskPatchRequestDTO.getDescription());
+        }
+        if (taskPatchRequestDTO.getStatus() != null) {
+            columns.put("status", taskPatchRequestDTO.getStatus());
+        }
+        if (columns.isEmpty()) {
+            return Mono.error(new BadRequestException(PATCH_IS_EMPTY));
+        }
+        return applyUpdate(id, columns, expectedVersion)
+                .doOnSuccess(patchedTask -> log.debug("Task patched successfully with ID: {} to version: {}, columns: {}",
+                        patchedTask.getId(), patchedTask.getVersion(), columns.keySet()))
+                .doOnError(error -> log.error("Error occurred while patching task: {}", error.getMessage(), error));
+    }
+
     @Override
     public Mono<Void> deleteTask(Long id) {
         log.info("Deleting task with ID: {}", id);
-        return taskRepository.existsById(id)
-                .flatMap(exists -> exists
-                        ? taskRepository.deleteById(id).doOnSuccess(aVoid -> log.debug("Task deleted successfully with ID: {}", id))
-                        : Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + id)))
+        return Flux.defer(() -> {
+                    taskReplicaRouter.recordWriteOfTasks(List.of(id));
+                    return taskRepository.deleteAllByIdReturning(List.of(id));
+                })
+                .next()
+                .switchIfEmpty(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + id)))
+                .doOnNext(deletedTask -> {
+                    taskReplicaRouter.recordWrite(deletedTask);
+                    taskCache.invalidate(id);
+                    taskJsonCache.invalidate(id);
+                    taskLoadCoalescer.forget(id);
+                    taskStatsCache.invalidateAll();
+                    taskSearchEngine.remove(id);
+                    publish(TaskChangeType.DELETED, deletedTask);
+                    log.debug("Task deleted successfully with ID: {}", id);
+                })
+                .then()
                 .doOnError(error -> log.error("Error occurred while deleting task: {}", error.getMessage(), error));
     }
 
-    private Mono<Task> updateExistingTask(Task existingTask, TaskRequestDTO newTaskData) {
-        existingTask.setTitle(newTaskData.getTitle());
-        existingTask.setDescription(newTaskData.getDescription());
-        existingTask.setStatus(newTaskData.getStatus());
-        return taskRepository.save(existingTask);
+    @Override
+    public Mono<TaskDeleteResultDTO> deleteTasks(Collection<Long> ids) {
+        log.info("Deleting {} tasks in batches of {}", ids == null ? 0 : ids.size(), taskBatchProperties.getDeleteChunkSize());
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            return Mono.error(new BadRequestException(IDS_ARE_REQUIRED));
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        return Flux.fromIterable(uniqueIds)
+                .buffer(taskBatchProperties.getDeleteChunkSize())
+                .concatMap(chunk -> Flux.defer(() -> {
+                            taskReplicaRouter.recordWriteOfTasks(chunk);
+                            return taskRepository.deleteAllByIdReturning(chunk);
+                        })
+                        .doOnNext(deletedTask -> {
+                            taskReplicaRouter.recordWrite(deletedTask);
+                            publish(TaskChangeType.DELETED, deletedTask);
+                        })
+                        .count()
+                        .doOnSuccess(deleted -> {
+                            chunk.forEach(taskCache::invalidate);
+                            chunk.forEach(taskJsonCache::invalidate);
+                            chunk.forEach(taskLoadCoalescer::forget);
+                            chunk.forEach(taskSearchEngine::remove);
+                            taskStatsCache.invalidateAll();
+                        }))
+                .reduce(0L, Long::sum)
+                .map(deleted -> new TaskDeleteResultDTO(uniqueIds.size(), deleted))
+                .doOnSuccess(result -> log.debug("{} of {} tasks deleted successfully", result.getDeleted(), result.getRequested()))
+                .doOnError(error -> log.error("Error occurred while deleting tasks: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Flux<TaskChangeDTO> getTaskChanges(String userEmail, String lastEventId) {
+        log.info("Following task changes with User email: {} after event: {}", userEmail, lastEventId);
+        return taskChangeFeed.subscribe(userEmail, lastEventId)
+                .doOnCancel(() -> log.debug("Stopped following task changes for email: {}", userEmail))
+                .doOnError(error -> log.error("Error occurred while following task changes: {}", error.getMessage(), error));
+    }
+
+    @Override
+    public Flux<TaskExportDTO> exportTasks(String readerEmail) {
+        log.info("Exporting all tasks for User email: {}", readerEmail);
+        return taskRepository.findAll()
+                .contextWrite(taskReplicaRouter.readOfUser(readerEmail))
+                .map(taskMapper::toExportDto)
+                .doOnComplete(() -> log.debug("All tasks exported successfully"))
+                .doOnError(error -> log.error("Error occurred while exporting tasks: {}", error.getMessage(), error));
+    }
+
+    // Rows are validated and inserted a chunk at a time, each chunk in one multi-row INSERT, and the next chunk
+    // is only read once the last is stored (no prefetch). Rows without a user email go to the importing user.
+    @Override
+    public Mono<TaskImportResultDTO> importTasks(String userEmail, Flux<TaskExportDTO> taskExportDTOs) {
+        log.info("Importing tasks in batches of {} with default user email: {}", taskBatchProperties.getChunkSize(), userEmail);
+        return taskExportDTOs
+                .index()
+                .buffer(taskBatchProperties.getChunkSize())
+                .concatMap(chunk -> createChunk(
+                                chunk.stream().map(row -> Tuples.of(row.getT1(), taskMapper.toRequestDto(row.getT2()))).toList(),
+                                chunk.stream().map(row -> ownerOf(row.getT2(), userEmail)).toList())
+                        .doOnComplete(taskStatsCache::invalidateAll), 0)
+                .reduceWith(TaskImportResultDTO::new, (result, item) -> {
+                    if (item.getStatus() == TaskBatchItemStatus.CREATED) {
+                        result.setCreated(result.getCreated() + 1);
+                    } else {
+                        result.setFailed(result.getFailed() + 1);
+                        if (result.getFailures().size() < MAX_IMPORT_FAILURES) {
+                            result.getFailures().add(item);
+                        }
+                    }
+                    return result;
+                })
+                .doOnSuccess(result -> log.debug("Tasks imported: {} created, {} failed", result.getCreated(), result.getFailed()))
+                .doOnError(error -> log.error("Error occurred while importing tasks: {}", error.getMessage(), error));
+    }
+
+    // Invalid items fail on their own; a failed insert fails every valid item of its chunk.
+    // The task at each position of the chunk goes to the user email at the same position of userEmails.
+    private Flux<TaskBatchResultDTO> createChunk(List<Tuple2<Long, TaskRequestDTO>> chunk, List<String> userEmails) {
+        List<TaskBatchResultDTO> invalid = new ArrayList<>();
+        List<Long> validIndexes = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int position = 0; position < chunk.size(); position++) {
+            Tuple2<Long, TaskRequestDTO> item = chunk.get(position);
+            String violations = validate(item.getT2());
+            if (violations != null) {
+                invalid.add(TaskBatchResultDTO.failed(item.getT1(), violations));
+                continue;
+            }
+            Task task = taskMapper.toEntity(item.getT2());
+            task.setUserEmail(userEmails.get(position));
+            validIndexes.add(item.getT1());
+            tasks.add(task);
+        }
+        Flux<TaskBatchResultDTO> created = Flux.defer(() -> {
+                    tasks.forEach(task -> taskReplicaRouter.recordWriteOfUser(task.getUserEmail()));
+                    return taskRepository.insertAll(tasks);
+                })
+                .doOnNext(taskReplicaRouter::recordWrite)
+                .doOnNext(taskSearchEngine::index)
+                .map(createdTask -> publish(TaskChangeType.CREATED, createdTask))
+                .index((position, createdTask) -> TaskBatchResultDTO.created(validIndexes.get(position.intValue()), createdTask))
+                .onErrorResume(error -> {
+                    log.error("Error occurred while inserting batch of {} tasks: {}", tasks.size(), error.getMessage(), error);
+                    return Flux.fromIterable(validIndexes).map(index -> TaskBatchResultDTO.failed(index, error.getMessage()));
+                });
+        return Flux.fromIterable(invalid)
+                .concatWith(created)
+                .sort(Comparator.comparingLong(TaskBatchResultDTO::getIndex));
+    }
+
+    private static String ownerOf(TaskExportDTO taskExportDTO, String userEmail) {
+        String owner = taskExportDTO.getUserEmail();
+        return owner == null || owner.isBlank() ? userEmail : owner;
+    }
+
+    private String validate(TaskRequestDTO taskRequestDTO) {
+        if (taskRequestDTO == null) {
+            return REQUEST_BODY_IS_REQUIRED;
+        }
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(taskRequestDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Long validatePage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException(LIMIT_IS_NOT_VALID);
+        }
+        return TaskCursor.decode(cursor);
+    }
+
+    private Mono<TaskPageDTO> searchPage(String query, String userEmail, String cursor, int limit) {
+        return Mono.fromCallable(() -> {
+                    if (query == null || query.isBlank()) {
+                        throw new BadRequestException(SEARCH_QUERY_IS_REQUIRED);
+                    }
+                    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                        throw new BadRequestException(LIMIT_IS_NOT_VALID);
+                    }
+                    return TaskCursor.decodeOffset(cursor);
+                })
+                .flatMap(offset -> taskSearchEngine.search(query, userEmail, offset, limit + 1)
+                        .map(taskMapper::toResponseDto)
+                        .collectList()
+                        .map(content -> content.size() > limit
+                                ? new TaskPageDTO(content.subList(0, limit), TaskCursor.encodeOffset(offset + limit))
+                                : new TaskPageDTO(content, null))
+                        .contextWrite(taskReplicaRouter.readOfUser(userEmail)));
+    }
+
+    // One row past the limit is fetched only to learn whether another page exists.
+    private Mono<TaskPageDTO> toPage(Flux<Task> tasks, int limit) {
+        return tasks
+                .map(taskMapper::toResponseDto)
+                .collectList()
+                .map(content -> content.size() > limit
+                        ? new TaskPageDTO(content.subList(0, limit), TaskCursor.encode(content.get(limit - 1).getId()))
+                        : new TaskPageDTO(content, null));
+    }
+
+    private Mono<Task> loadTask(Long id) {
+        return taskLoadCoalescer.get(id, key -> taskCache.get(key, taskBatchLoader::load));
+    }
+
+    // The cache and batch loader hold whole rows; a sparse fieldset is read on its own, with only its columns.
+    private Mono<Task> loadTask(Long id, String fields) {
+        if (fields == null) {
+            return loadTask(id);
+        }
+        return Mono.fromCallable(() -> TaskFields.parse(fields))
+                .flatMap(taskFields -> taskFields.isAll()
+                        ? loadTask(id)
+                        : taskRepository.findById(id, taskFields).contextWrite(taskReplicaRouter.readOfTasks(List.of(id))));
+    }
+
+    // Followers of the change feed see the task exactly as the caller does.
+    private TaskResponseDTO publish(TaskChangeType type, Task task) {
+        TaskResponseDTO taskResponseDTO = taskMapper.toResponseDto(task);
+        taskChangeFeed.publish(type, task.getUserEmail(), taskResponseDTO);
+        return taskResponseDTO;
+    }
+
+    // The task reads from the primary from before the UPDATE is sent, so a lookup racing it cannot put the
+    // replica's old row back in the cache once it has been invalidated.
+    private Mono<TaskResponseDTO> applyUpdate(Long id, Map<String, String> columns, Long expectedVersion) {
+        return Mono.defer(() -> {
+                    taskReplicaRouter.recordWriteOfTasks(List.of(id));
+                    return taskRepository.update(id, columns, expectedVersion);
+                })
+                .switchIfEmpty(Mono.defer(() -> updateMismatch(id, expectedVersion)))
+                .doOnSuccess(updatedTask -> {
+                    taskReplicaRouter.recordWrite(updatedTask);
+                    taskCache.invalidate(id);
+                    taskJsonCache.invalidate(id);
+                    taskLoadCoalescer.forget(id);
+                    taskSearchEngine.index(updatedTask);
+                    if (columns.containsKey("status")) {
+                        taskStatsCache.invalidate(updatedTask.getUserEmail());
+                    }
+                })
+                .map(updatedTask -> publish(TaskChangeType.UPDATED, updatedTask));
+    }
+
+    // Sorted by status so the response is stable regardless of the order the database groups in.
+    private Mono<TaskStatsDTO> toStats(Flux<TaskStatusCount> counts) {
+        return counts
+                .collectMap(TaskStatusCount::getStatus, TaskStatusCount::getTotal, TreeMap::new)
+                .map(byStatus -> new TaskStatsDTO(byStatus.values().stream().mapToLong(Long::longValue).sum(), byStatus));
+    }
+
+    // Only reached when the conditional UPDATE matched nothing, so the happy path stays one round trip.
+    private Mono<Task> updateMismatch(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + id));
+        }
+        return taskRepository.existsById(id)
+                .flatMap(exists -> Mono.error(exists
+                        ? new TaskConflictException(TASK_VERSION_CONFLICT_ID + id + EXPECTED_VERSION + expectedVersion)
+                        : new TaskNotFoundException(TASK_NOT_FOUND_ID + id)));
     }
 }
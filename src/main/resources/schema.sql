@@ -3,5 +3,15 @@ CREATE TABLE IF NOT EXISTS tasks (
     title VARCHAR(255) NOT NULL,
     description TEXT,
     status VARCHAR(50) NOT NULL,
-    user_email VARCHAR(255)
-);
\ No newline at end of file
+    user_email VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Carries version so a user's list version is computed from the index alone; it still serves the (user_email, id) pages.
+DROP INDEX IF EXISTS idx_tasks_user_email_id;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_email_id_version ON tasks (user_email, id, version);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_email_status ON tasks (user_email, status);
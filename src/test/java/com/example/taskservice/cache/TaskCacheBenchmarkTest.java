@@ -0,0 +1,91 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskCacheProperties;
+import com.example.taskservice.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("performance")
+@SpringBootTest(properties = "eureka.client.enabled=false")
+class TaskCacheBenchmarkTest {
+
+    private static final int TASKS = 10_000;
+    private static final int HOT_TASKS = 100;
+    private static final int WARMUP_READS = 20_000;
+    private static final int MEASURED_READS = 100_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCacheProperties taskCacheProperties;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private List<Long> hotIds;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM tasks").then().block();
+        databaseClient.sql("INSERT INTO tasks (title, description, status, user_email) "
+                        + "SELECT CONCAT('Task ', X), REPEAT('d', 500), 'Pending', 'bench@example.com' "
+                        + "FROM SYSTEM_RANGE(1, " + TASKS + ")")
+                .then()
+                .block();
+        hotIds = databaseClient.sql("SELECT id FROM tasks ORDER BY id LIMIT " + HOT_TASKS)
+                .map(row -> row.get("id", Number.class).longValue())
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskCacheProperties.setEnabled(true);
+    }
+
+    @Test
+    void getTaskById_ShouldHaveLowerP99_WithCacheEnabled() {
+        taskCacheProperties.setEnabled(false);
+        long uncachedP99 = measureP99();
+
+        taskCacheProperties.setEnabled(true);
+        long cachedP99 = measureP99();
+
+        log.info("getTaskById p99 over {} hot tasks: cache off {} us, cache on {} us",
+                HOT_TASKS, uncachedP99 / 1_000, cachedP99 / 1_000);
+        assertThat(cachedP99).isLessThan(uncachedP99);
+    }
+
+    private long measureP99() {
+        readHotTasks(WARMUP_READS);
+        long[] latencies = readHotTasks(MEASURED_READS);
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+    }
+
+    private long[] readHotTasks(int reads) {
+        long[] latencies = new long[reads];
+        for (int i = 0; i < reads; i++) {
+            Long id = hotIds.get(ThreadLocalRandom.current().nextInt(hotIds.size()));
+            long start = System.nanoTime();
+            taskService.getTaskById(id).block();
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+}
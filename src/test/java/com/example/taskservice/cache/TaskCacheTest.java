@@ -0,0 +1,126 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskCacheProperties;
+import com.example.taskservice.entity.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private TaskCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnce_AndCountHitsAndMisses() {
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        StepVerifier.create(taskCache.get(1L, this::load).then(taskCache.get(1L, this::load)))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingTasks() {
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        StepVerifier.create(taskCache.get(1L, id -> countedEmpty()).then(taskCache.get(1L, id -> countedEmpty())))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() {
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        taskCache.get(1L, this::load).block();
+        taskCache.invalidate(1L);
+        taskCache.get(1L, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldReload_AfterTtlExpires() throws InterruptedException {
+        properties.setTtl(Duration.ofMillis(20));
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        taskCache.get(1L, this::load).block();
+        Thread.sleep(50);
+        taskCache.get(1L, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldBypassCache_WhenDisabled() {
+        properties.setEnabled(false);
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        taskCache.get(1L, this::load).block();
+        taskCache.get(1L, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldAllowInvalidation_WhileALoadCompletesSynchronously() {
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        StepVerifier.create(taskCache.get(1L, id -> Mono.fromRunnable(() -> taskCache.invalidate(id)).then(load(id))))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void get_ShouldFailAndNotKeepTheLoad_WhenTheLoaderThrows() {
+        TaskCache taskCache = new TaskCache(properties, meterRegistry);
+
+        StepVerifier.create(taskCache.get(1L, id -> {
+                    throw new IllegalStateException("No connection");
+                }))
+                .expectErrorMessage("No connection")
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(taskCache.get(1L, this::load))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    private Mono<Task> load(Long id) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            Task task = new Task();
+            task.setId(id);
+            return task;
+        });
+    }
+
+    private Mono<Task> countedEmpty() {
+        return Mono.fromRunnable(loads::incrementAndGet);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).functionCounter().count();
+    }
+}
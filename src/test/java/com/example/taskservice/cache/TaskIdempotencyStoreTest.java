@@ -0,0 +1,90 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskIdempotencyProperties;
+import com.example.taskservice.exception.BadRequestException;
+import com.example.taskservice.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdempotencyStoreTest {
+
+    private TaskIdempotencyStore taskIdempotencyStore;
+    private AtomicInteger writes;
+
+    @BeforeEach
+    void setUp() {
+        taskIdempotencyStore = new TaskIdempotencyStore(new TaskIdempotencyProperties(), new SimpleMeterRegistry());
+        writes = new AtomicInteger();
+    }
+
+    @Test
+    void execute_ShouldReplayTheFirstResponse_WithoutWritingAgain() {
+        ResponseEntity<Integer> first = taskIdempotencyStore.execute("user@example.com", "key-1", "body", this::write).block();
+        ResponseEntity<Integer> retry = taskIdempotencyStore.execute("user@example.com", "key-1", "body", this::write).block();
+
+        assertThat(retry).isSameAs(first);
+        assertThat(writes).hasValue(1);
+
+        taskIdempotencyStore.execute("other@example.com", "key-1", "body", this::write).block();
+        taskIdempotencyStore.execute("user@example.com", null, "body", this::write).block();
+        assertThat(writes).hasValue(3);
+    }
+
+    @Test
+    void execute_ShouldLetConcurrentDuplicatesWaitForTheFirstWrite() {
+        Sinks.One<ResponseEntity<Integer>> firstWrite = Sinks.one();
+        Mono<ResponseEntity<Integer>> first = taskIdempotencyStore.execute("user@example.com", "key-1", "body", () -> {
+            writes.incrementAndGet();
+            return firstWrite.asMono();
+        });
+        Mono<ResponseEntity<Integer>> duplicate = taskIdempotencyStore.execute("user@example.com", "key-1", "body", this::write);
+
+        StepVerifier.create(first.zipWith(duplicate))
+                .then(() -> firstWrite.tryEmitValue(ResponseEntity.status(HttpStatus.CREATED).body(42)))
+                .assertNext(responses -> {
+                    assertThat(responses.getT1().getBody()).isEqualTo(42);
+                    assertThat(responses.getT2()).isSameAs(responses.getT1());
+                })
+                .verifyComplete();
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void execute_ShouldRefuseAKeyReusedForAnotherRequest() {
+        taskIdempotencyStore.execute("user@example.com", "key-1", "body", this::write).block();
+
+        StepVerifier.create(taskIdempotencyStore.execute("user@example.com", "key-1", "other body", this::write))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+        StepVerifier.create(taskIdempotencyStore.execute("user@example.com", " ", "body", this::write))
+                .expectError(BadRequestException.class)
+                .verify();
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void execute_ShouldNotKeepFailedWrites() {
+        StepVerifier.create(taskIdempotencyStore.execute("user@example.com", "key-1", "body",
+                        () -> Mono.<ResponseEntity<Integer>>error(new IllegalStateException("Database is down"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(taskIdempotencyStore.execute("user@example.com", "key-1", "body", this::write).map(ResponseEntity::getBody))
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    private Mono<ResponseEntity<Integer>> write() {
+        return Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.CREATED).body(writes.incrementAndGet()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskJsonCacheProperties;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TaskJsonCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskJsonCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_ShouldReuseTheEncodedBytes_WhileTheVersionIsUnchanged() throws Exception {
+        TaskJsonCache taskJsonCache = new TaskJsonCache(properties, objectMapper, meterRegistry);
+        TaskResponseDTO task = task(1L, 0L, "Pending");
+
+        byte[] first = taskJsonCache.get(task);
+        byte[] second = taskJsonCache.get(task(1L, 0L, "Pending"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(task));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", TaskJsonCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldEncodeAgain_WhenTheTaskHasANewerVersion() throws Exception {
+        TaskJsonCache taskJsonCache = new TaskJsonCache(properties, objectMapper, meterRegistry);
+        taskJsonCache.get(task(1L, 0L, "Pending"));
+
+        TaskResponseDTO updated = task(1L, 1L, "Done");
+
+        assertThat(taskJsonCache.get(updated)).isEqualTo(objectMapper.writeValueAsBytes(updated));
+    }
+
+    @Test
+    void get_ShouldNotCacheASparseFieldset() throws Exception {
+        TaskJsonCache taskJsonCache = new TaskJsonCache(properties, objectMapper, meterRegistry);
+        TaskResponseDTO sparse = new TaskResponseDTO(1L, "Task 1", null, null, 0L);
+
+        assertThat(taskJsonCache.get(sparse)).isEqualTo(objectMapper.writeValueAsBytes(sparse));
+
+        TaskResponseDTO full = task(1L, 0L, "Pending");
+        assertThat(taskJsonCache.get(full)).isEqualTo(objectMapper.writeValueAsBytes(full));
+    }
+
+    @Test
+    void invalidate_ShouldDropTheEncodedBytes() {
+        TaskJsonCache taskJsonCache = new TaskJsonCache(properties, objectMapper, meterRegistry);
+        byte[] first = taskJsonCache.get(task(1L, 0L, "Pending"));
+
+        taskJsonCache.invalidate(1L);
+
+        assertThat(taskJsonCache.get(task(1L, 0L, "Pending"))).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    void get_ShouldKeepTheCachedBytesWithinTheConfiguredSize() throws InterruptedException {
+        properties.setMaximumSize(DataSize.ofKilobytes(4));
+        TaskJsonCache taskJsonCache = new TaskJsonCache(properties, objectMapper, meterRegistry);
+
+        for (long id = 1; id <= 1_000; id++) {
+            taskJsonCache.get(task(id, 0L, "Pending"));
+        }
+
+        // Caffeine evicts in the background, so give it a moment to catch up.
+        for (int i = 0; i < 100 && evictions() <= 900; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(evictions()).isGreaterThan(900);
+    }
+
+    private double evictions() {
+        return meterRegistry.get("cache.evictions").tag("cache", TaskJsonCache.CACHE_NAME).functionCounter().count();
+    }
+
+    private static TaskResponseDTO task(Long id, Long version, String status) {
+        return new TaskResponseDTO(id, "Task " + id, "Description of task " + id, status, version);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.entity.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskLoadCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskLoadCoalescer taskLoadCoalescer;
+    private AtomicInteger loads;
+    private Sinks.One<Task> result;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskLoadCoalescer = new TaskLoadCoalescer(meterRegistry);
+        loads = new AtomicInteger();
+        result = Sinks.one();
+    }
+
+    @Test
+    void get_ShouldShareOneLoad_BetweenConcurrentCallers() {
+        Mono<Task> first = taskLoadCoalescer.get(1L, this::pendingLoad);
+        Mono<Task> second = taskLoadCoalescer.get(1L, this::pendingLoad);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> result.tryEmitValue(task(1L)))
+                .expectNextMatches(tasks -> tasks.getT1() == tasks.getT2())
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(lookups("false")).isEqualTo(1);
+        assertThat(lookups("true")).isEqualTo(1);
+        assertThat(meterRegistry.get(TaskLoadCoalescer.METRIC_NAME + ".in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void get_ShouldLoadAgain_OnceTheSharedLoadHasCompleted() {
+        taskLoadCoalescer.get(1L, id -> countedLoad(task(id))).block();
+        taskLoadCoalescer.get(1L, id -> countedLoad(task(id))).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(lookups("true")).isZero();
+    }
+
+    @Test
+    void get_ShouldFanOutErrors_AndRetryOnTheNextLookup() {
+        Mono<Task> first = taskLoadCoalescer.get(1L, this::pendingLoad);
+        Mono<Task> second = taskLoadCoalescer.get(1L, this::pendingLoad);
+
+        StepVerifier.create(Mono.zip(first.onErrorReturn(task(0L)), second.onErrorReturn(task(0L))))
+                .then(() -> result.tryEmitError(new IllegalStateException("database down")))
+                .expectNextMatches(tasks -> tasks.getT1().getId() == 0L && tasks.getT2().getId() == 0L)
+                .verifyComplete();
+
+        StepVerifier.create(taskLoadCoalescer.get(1L, id -> countedLoad(task(id))))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldFailAndForgetTheLookup_WhenTheLoaderThrows() {
+        StepVerifier.create(taskLoadCoalescer.get(1L, id -> {
+                    throw new IllegalStateException("No connection");
+                }))
+                .expectErrorMessage("No connection")
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(taskLoadCoalescer.get(1L, id -> countedLoad(task(id))))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get(TaskLoadCoalescer.METRIC_NAME + ".in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void get_ShouldKeepLoading_WhenOneCallerCancels() {
+        Disposable cancelled = taskLoadCoalescer.get(1L, this::pendingLoad).subscribe();
+        Mono<Task> remaining = taskLoadCoalescer.get(1L, this::pendingLoad);
+
+        cancelled.dispose();
+
+        StepVerifier.create(remaining)
+                .then(() -> result.tryEmitValue(task(1L)))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void forget_ShouldMakeLaterCallersStartANewLoad() {
+        taskLoadCoalescer.get(1L, this::pendingLoad).subscribe();
+
+        taskLoadCoalescer.forget(1L);
+
+        StepVerifier.create(taskLoadCoalescer.get(1L, id -> countedLoad(task(id))))
+                .expectNextMatches(task -> task.getId() == 1L)
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    private Mono<Task> pendingLoad(Long id) {
+        loads.incrementAndGet();
+        return result.asMono();
+    }
+
+    private Mono<Task> countedLoad(Task task) {
+        loads.incrementAndGet();
+        return Mono.just(task);
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    private double lookups(String coalesced) {
+        return meterRegistry.get(TaskLoadCoalescer.METRIC_NAME).tag("coalesced", coalesced).counter().count();
+    }
+}
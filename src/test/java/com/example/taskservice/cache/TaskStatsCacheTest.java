@@ -0,0 +1,51 @@
+package com.example.taskservice.cache;
+
+import com.example.taskservice.config.TaskStatsCacheProperties;
+import com.example.taskservice.dto.TaskStatsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskStatsCacheTest {
+
+    private TaskStatsCache taskStatsCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        taskStatsCache = new TaskStatsCache(new TaskStatsCacheProperties(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void invalidate_ShouldEvictTheUserAndAllTasks_ButNotOtherUsers() {
+        taskStatsCache.getAll(this::load).block();
+        taskStatsCache.getByUserEmail("user@example.com", this::load).block();
+        taskStatsCache.getByUserEmail("other@example.com", this::load).block();
+
+        taskStatsCache.invalidate("user@example.com");
+        taskStatsCache.getAll(this::load).block();
+        taskStatsCache.getByUserEmail("user@example.com", this::load).block();
+        taskStatsCache.getByUserEmail("other@example.com", this::load).block();
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void getByUserEmail_ShouldNotCache_WhenUserEmailIsMissing() {
+        taskStatsCache.getByUserEmail(null, this::load).block();
+        taskStatsCache.getByUserEmail(null, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Mono<TaskStatsDTO> load() {
+        return Mono.fromSupplier(() -> new TaskStatsDTO(loads.incrementAndGet(), Map.of()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CborArrayEncoderTest {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(TaskResponseDTO.class);
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private final CborArrayEncoder encoder = new CborArrayEncoder(cborMapper);
+    private final CborArrayDecoder decoder = new CborArrayDecoder(cborMapper);
+
+    private final List<TaskResponseDTO> tasks = List.of(
+            new TaskResponseDTO(1L, "First", "First description", "Pending", 0L),
+            new TaskResponseDTO(2L, "Second", null, "Done", 3L));
+
+    @Test
+    void encode_ShouldWriteAStreamAsACborArrayOneElementPerBuffer() throws Exception {
+        List<DataBuffer> buffers = encoder.encode(Flux.fromIterable(tasks), DefaultDataBufferFactory.sharedInstance,
+                ELEMENT_TYPE, MediaType.APPLICATION_CBOR, null).collectList().block();
+
+        assertThat(buffers).hasSize(tasks.size() + 1);
+        assertThat(cborMapper.readValue(join(Flux.fromIterable(buffers)), TaskResponseDTO[].class))
+                .containsExactlyElementsOf(tasks);
+    }
+
+    @Test
+    void encode_ShouldWriteAnEmptyArray_ForAnEmptyStream() throws Exception {
+        byte[] cbor = join(encoder.encode(Flux.empty(), DefaultDataBufferFactory.sharedInstance,
+                ELEMENT_TYPE, MediaType.APPLICATION_CBOR, null));
+
+        assertThat(cborMapper.readValue(cbor, TaskResponseDTO[].class)).isEmpty();
+    }
+
+    @Test
+    void encode_ShouldWriteASingleValueWithoutArray() throws Exception {
+        byte[] cbor = join(encoder.encode(Mono.just(tasks.get(0)), DefaultDataBufferFactory.sharedInstance,
+                ELEMENT_TYPE, MediaType.APPLICATION_CBOR, null));
+
+        assertThat(cborMapper.readValue(cbor, TaskResponseDTO.class)).isEqualTo(tasks.get(0));
+    }
+
+    @Test
+    void decode_ShouldReadTheElementsOfAnEncodedStream() {
+        Flux<DataBuffer> encoded = encoder.encode(Flux.fromIterable(tasks), DefaultDataBufferFactory.sharedInstance,
+                ELEMENT_TYPE, MediaType.APPLICATION_CBOR, null);
+
+        StepVerifier.create(decoder.decode(encoded, ELEMENT_TYPE, MediaType.APPLICATION_CBOR, null))
+                .expectNext(tasks.get(0), tasks.get(1))
+                .verifyComplete();
+    }
+
+    @Test
+    void canEncode_ShouldOnlyAcceptCbor() {
+        assertThat(encoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(encoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(decoder.canDecode(ELEMENT_TYPE, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static byte[] join(Flux<DataBuffer> buffers) {
+        return DataBufferUtils.join(buffers)
+                .map(buffer -> {
+                    byte[] content = new byte[buffer.readableByteCount()];
+                    buffer.read(content);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                })
+                .block();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.dto.TaskExportDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.example.taskservice.commons.Constants.CSV_HEADER_IS_REQUIRED;
+import static com.example.taskservice.commons.Constants.CSV_QUOTE_IS_NOT_CLOSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCsvDecoderTest {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(TaskExportDTO.class);
+    private static final MimeType TEXT_CSV = MimeType.valueOf("text/csv");
+
+    private final TaskCsvDecoder decoder = new TaskCsvDecoder();
+
+    @Test
+    void decode_ShouldReadRecordsByHeaderName_WhenQuotedFieldsAndCharactersAreSplitAcrossBuffers() {
+        String csv = "\uFEFFStatus,Title,id,user_email,Description\r\n"
+                + "Pending,Caf\u00e9,1,user@example.com,\"Has, a comma and \"\"quotes\"\"\"\r\n"
+                + "\r\n"
+                + "Done,Second,2,,\"Spans\ntwo lines\"\n";
+
+        StepVerifier.create(decode(csv, 3))
+                .expectNext(new TaskExportDTO(null, "Caf\u00e9", "Has, a comma and \"quotes\"", "Pending", "user@example.com", null))
+                .expectNext(new TaskExportDTO(null, "Second", "Spans\ntwo lines", "Done", "", null))
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_ShouldFail_WhenTheHeaderHasNoTitleOrAQuoteIsNotClosed() {
+        StepVerifier.create(decode("status,description\nPending,First\n", 64))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(DecodingException.class)
+                        .hasMessage(CSV_HEADER_IS_REQUIRED));
+        StepVerifier.create(decode("title\n\"Open\nfield\n", 64))
+                .verifyErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(DecodingException.class)
+                        .hasMessage(CSV_QUOTE_IS_NOT_CLOSED));
+    }
+
+    @Test
+    void canDecode_ShouldOnlyAcceptExportRowsAsCsv() {
+        assertThat(decoder.canDecode(ELEMENT_TYPE, TEXT_CSV)).isTrue();
+        assertThat(decoder.canDecode(ELEMENT_TYPE, MimeType.valueOf("application/json"))).isFalse();
+        assertThat(decoder.canDecode(ResolvableType.forClass(String.class), TEXT_CSV)).isFalse();
+    }
+
+    // Cuts the body every chunkSize bytes, so records and multi-byte characters straddle buffers.
+    private Flux<TaskExportDTO> decode(String csv, int chunkSize) {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> buffers = Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, chunk * chunkSize, Math.min(bytes.length, (chunk + 1) * chunkSize))));
+        return decoder.decode(buffers, ELEMENT_TYPE, TEXT_CSV, Map.of());
+    }
+}
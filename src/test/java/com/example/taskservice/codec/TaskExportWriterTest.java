@@ -0,0 +1,93 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.config.TaskBatchProperties;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskExportWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TaskBatchProperties taskBatchProperties = new TaskBatchProperties();
+    private final TaskExportWriter taskExportWriter = new TaskExportWriter(objectMapper, taskBatchProperties);
+
+    private final List<TaskExportDTO> tasks = List.of(
+            new TaskExportDTO(1L, "First", "Has, a comma and \"quotes\"", "Pending", "user@example.com", 0L),
+            new TaskExportDTO(2L, "Second", "Spans\ntwo lines", "Done", "other@example.com", 3L));
+
+    @Test
+    void write_ShouldWriteOneJsonObjectPerLine_ForNdjson() throws Exception {
+        List<String> lines = text(write(tasks, false, false)).lines().toList();
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), TaskExportDTO.class)).isEqualTo(tasks.get(0));
+        assertThat(objectMapper.readValue(lines.get(1), TaskExportDTO.class)).isEqualTo(tasks.get(1));
+    }
+
+    @Test
+    void write_ShouldQuoteCsvFieldsHoldingSeparatorsQuotesAndLineBreaks() {
+        assertThat(text(write(tasks, true, false))).isEqualTo(TaskExportWriter.CSV_HEADER
+                + "1,First,\"Has, a comma and \"\"quotes\"\"\",Pending,user@example.com,0\n"
+                + "2,Second,\"Spans\ntwo lines\",Done,other@example.com,3\n");
+        assertThat(text(write(List.of(), true, false))).isEqualTo(TaskExportWriter.CSV_HEADER);
+        assertThat(write(List.of(), false, false)).isEmpty();
+    }
+
+    @Test
+    void write_ShouldWriteOneBufferPerBatch_AndAValidGzipStreamAcrossThem() throws Exception {
+        taskBatchProperties.setChunkSize(10);
+        List<TaskExportDTO> many = IntStream.range(0, 25)
+                .mapToObj(i -> new TaskExportDTO((long) i, "Task " + i, "Description " + i, "Pending", "user@example.com", 0L))
+                .toList();
+
+        List<byte[]> plain = write(many, true, false);
+        List<byte[]> gzipped = write(many, true, true);
+
+        assertThat(plain).hasSize(3);
+        assertThat(gunzip(gzipped)).isEqualTo(text(plain));
+        assertThat(gunzip(write(List.of(), false, true))).isEmpty();
+    }
+
+    private List<byte[]> write(List<TaskExportDTO> rows, boolean csv, boolean gzip) {
+        return taskExportWriter.write(Flux.fromIterable(rows), csv, gzip, DefaultDataBufferFactory.sharedInstance)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .collectList()
+                .block();
+    }
+
+    private static String text(List<byte[]> buffers) {
+        return new String(concat(buffers), StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(List<byte[]> buffers) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(concat(buffers)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] concat(List<byte[]> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffers.forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+}
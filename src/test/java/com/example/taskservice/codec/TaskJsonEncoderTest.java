@@ -0,0 +1,72 @@
+package com.example.taskservice.codec;
+
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.config.TaskJsonCacheProperties;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskJsonEncoderTest {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(TaskResponseDTO.class);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Jackson2JsonEncoder jacksonEncoder = new Jackson2JsonEncoder(objectMapper);
+    private final TaskJsonEncoder taskJsonEncoder = new TaskJsonEncoder(
+            new TaskJsonCache(new TaskJsonCacheProperties(), objectMapper, new SimpleMeterRegistry()));
+
+    private final List<TaskResponseDTO> tasks = List.of(
+            new TaskResponseDTO(1L, "First", "First \"quoted\" description", "Pending", 0L),
+            new TaskResponseDTO(2L, "Second", null, "Done", 3L));
+
+    @Test
+    void encode_ShouldWriteTheSameBytesAsJackson_ForASingleTaskAJsonArrayAndNdjson() {
+        assertSameAsJackson(Mono.just(tasks.get(0)), MediaType.APPLICATION_JSON);
+        assertSameAsJackson(Flux.fromIterable(tasks), MediaType.APPLICATION_JSON);
+        assertSameAsJackson(Flux.empty(), MediaType.APPLICATION_JSON);
+        assertSameAsJackson(Flux.fromIterable(tasks), MediaType.APPLICATION_NDJSON);
+
+        // Served from the cache the second time round.
+        assertSameAsJackson(Flux.fromIterable(tasks), MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void canEncode_ShouldOnlyAcceptTasksAsJson() {
+        assertThat(taskJsonEncoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(taskJsonEncoder.canEncode(ELEMENT_TYPE, MediaType.APPLICATION_NDJSON)).isTrue();
+        assertThat(taskJsonEncoder.canEncode(ELEMENT_TYPE, MediaType.TEXT_EVENT_STREAM)).isFalse();
+        assertThat(taskJsonEncoder.canEncode(ResolvableType.forClass(String.class), MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private void assertSameAsJackson(Publisher<TaskResponseDTO> input, MediaType mediaType) {
+        String expected = join(jacksonEncoder.encode(input, DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, mediaType, null));
+        String actual = join(taskJsonEncoder.encode(input, DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, mediaType, null));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static String join(Flux<DataBuffer> buffers) {
+        return DataBufferUtils.join(buffers)
+                .map(buffer -> {
+                    String content = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                })
+                .block();
+    }
+}
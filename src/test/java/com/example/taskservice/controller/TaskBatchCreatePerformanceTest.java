@@ -0,0 +1,71 @@
+package com.example.taskservice.controller;
+
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"eureka.client.enabled=false", "logging.level.com.example.taskservice=WARN", "task.admission.enabled=false"})
+class TaskBatchCreatePerformanceTest {
+
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int BATCH_ROWS = 50_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void batchCreate_ShouldInsertAnOrderOfMagnitudeMoreRowsPerSecond_ThanSingleCreates() {
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            webClient.post()
+                    .uri("/api/tasks")
+                    .header("username", "bench@example.com")
+                    .bodyValue(newRequest(i))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block();
+        }
+        double singleRowsPerSecond = SINGLE_ROWS / seconds(singleStart);
+
+        long batchStart = System.nanoTime();
+        Long created = webClient.post()
+                .uri("/api/tasks/batch")
+                .header("username", "bench@example.com")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Flux.range(0, BATCH_ROWS).map(this::newRequest), TaskRequestDTO.class)
+                .retrieve()
+                .bodyToFlux(TaskBatchResultDTO.class)
+                .count()
+                .block(Duration.ofMinutes(5));
+        double batchRowsPerSecond = BATCH_ROWS / seconds(batchStart);
+
+        log.warn("Rows per second: single {} , batch {}", (long) singleRowsPerSecond, (long) batchRowsPerSecond);
+        assertThat(created).isEqualTo(BATCH_ROWS);
+        assertThat(batchRowsPerSecond).isGreaterThan(singleRowsPerSecond * 10);
+    }
+
+    private TaskRequestDTO newRequest(int i) {
+        return new TaskRequestDTO("Task " + i, "Description " + i, "Pending");
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.taskservice.controller;
+
+import com.example.taskservice.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"eureka.client.enabled=false", "task.admission.enabled=false"})
+class TaskConditionalGetPerformanceTest {
+
+    private static final String USER = "poller@example.com";
+    private static final int TASKS = 500;
+    private static final int WARMUP_POLLS = 300;
+    private static final int POLLS = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        webClient = WebClient.create("http://localhost:" + port);
+        databaseClient.sql("DELETE FROM tasks").then().block();
+        databaseClient.sql("INSERT INTO tasks (title, description, status, user_email) "
+                        + "SELECT CONCAT('Task ', X), REPEAT('d', 200), 'Pending', '" + USER + "' "
+                        + "FROM SYSTEM_RANGE(1, " + TASKS + ")")
+                .then()
+                .block();
+    }
+
+    // A client polling an unchanged list, with and without sending back the ETag it was given.
+    @Test
+    void polling_ShouldSendFarFewerBytesAndUseLessCpu_WhenIfNoneMatchIsSent() {
+        String eTag = poll(null).eTag();
+        poll(WARMUP_POLLS, null);
+        poll(WARMUP_POLLS, eTag);
+
+        Measurement unconditional = poll(POLLS, null);
+        Measurement conditional = poll(POLLS, eTag);
+
+        log.info("{} polls of {} tasks, unconditional: {} bytes, {} ms CPU; with If-None-Match: {} bytes, {} ms CPU",
+                POLLS, TASKS, unconditional.bytes(), unconditional.cpuMillis(), conditional.bytes(), conditional.cpuMillis());
+
+        assertThat(conditional.bytes()).isZero();
+        assertThat(unconditional.bytes()).isGreaterThan((long) POLLS * TASKS * 200);
+        assertThat(conditional.cpuMillis() * 2).isLessThan(unconditional.cpuMillis());
+    }
+
+    // GET /api/tasks reads the list version to tag the response even when the client sent no If-None-Match,
+    // so an unconditional read pays for the aggregate over every row on top of reading the rows themselves.
+    @Test
+    void unconditionalRead_ShouldSpendLittleOfItsTimeOnTheListVersion() {
+        for (int i = 0; i < WARMUP_POLLS; i++) {
+            read();
+            taskService.getTasksVersion(null).block();
+        }
+
+        long readStart = System.nanoTime();
+        for (int i = 0; i < POLLS; i++) {
+            read();
+        }
+        long readNanos = System.nanoTime() - readStart;
+        long versionStart = System.nanoTime();
+        for (int i = 0; i < POLLS; i++) {
+            taskService.getTasksVersion(null).block();
+        }
+        long versionNanos = System.nanoTime() - versionStart;
+
+        log.info("{} unconditional reads of {} tasks: {} us each, of which the list version: {} us ({}%)",
+                POLLS, TASKS, readNanos / POLLS / 1000, versionNanos / POLLS / 1000, versionNanos * 100 / readNanos);
+
+        assertThat(versionNanos * 10).isLessThan(readNanos);
+    }
+
+    private void read() {
+        HttpStatus status = webClient.get()
+                .uri("/api/tasks")
+                .exchangeToMono(response -> response.bodyToMono(byte[].class).thenReturn((HttpStatus) response.statusCode()))
+                .block();
+        assertThat(status).isEqualTo(HttpStatus.OK);
+    }
+
+    private Measurement poll(int polls, String eTag) {
+        long cpuStart = os.getProcessCpuTime();
+        long bytes = 0;
+        for (int i = 0; i < polls; i++) {
+            Poll poll = poll(eTag);
+            assertThat(poll.status()).isEqualTo(eTag == null ? HttpStatus.OK : HttpStatus.NOT_MODIFIED);
+            bytes += poll.bytes();
+        }
+        return new Measurement(bytes, (os.getProcessCpuTime() - cpuStart) / 1_000_000);
+    }
+
+    private Poll poll(String eTag) {
+        return webClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", USER)
+                .headers(headers -> {
+                    if (eTag != null) {
+                        headers.setIfNoneMatch(eTag);
+                    }
+                })
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .map(body -> (long) body.length)
+                        .defaultIfEmpty(0L)
+                        .map(bytes -> new Poll((HttpStatus) response.statusCode(), bytes,
+                                response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG))))
+                .block();
+    }
+
+    private record Poll(HttpStatus status, long bytes, String eTag) {
+    }
+
+    private record Measurement(long bytes, long cpuMillis) {
+    }
+}
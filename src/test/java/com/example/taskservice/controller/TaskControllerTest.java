@@ -1,31 +1,97 @@
 package com.example.taskservice.controller;
 
+import com.example.taskservice.cache.TaskIdempotencyStore;
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.codec.TaskExportWriter;
+import com.example.taskservice.config.TaskBatchProperties;
+import com.example.taskservice.config.TaskChangeFeedProperties;
+import com.example.taskservice.config.TaskIdempotencyProperties;
+import com.example.taskservice.config.TaskJsonCacheProperties;
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskChangeType;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.example.taskservice.dto.TaskImportResultDTO;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
+import com.example.taskservice.exception.ServiceUnavailableException;
+import com.example.taskservice.exception.TaskConflictException;
 import com.example.taskservice.exception.TaskNotFoundException;
+import com.example.taskservice.filter.TaskAdmissionFilter;
+import com.example.taskservice.mapper.TaskProtobufMapper;
+import com.example.taskservice.proto.ErrorResponse;
+import com.example.taskservice.proto.TaskPatchRequest;
+import com.example.taskservice.proto.TaskRequest;
+import com.example.taskservice.proto.TaskResponse;
 import com.example.taskservice.service.TaskService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static com.example.taskservice.commons.Constants.APPLICATION_PROTOBUF_VALUE;
+import static com.example.taskservice.commons.Constants.DEFAULT_PAGE_SIZE;
+import static com.example.taskservice.commons.Constants.FIELDS_ARE_NOT_VALID;
+import static com.example.taskservice.commons.Constants.IDEMPOTENCY_KEY_WAS_REUSED;
+import static com.example.taskservice.commons.Constants.NEXT_CURSOR_HEADER;
 import static com.example.taskservice.commons.Constants.TASK_NOT_FOUND_ID;
+import static com.example.taskservice.commons.Constants.TOO_MANY_PENDING_TASKS;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@WebFluxTest(TaskController.class)
+// Admission control needs the database pool; TaskAdmissionFilterTest covers it.
+@WebFluxTest(controllers = TaskController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = TaskAdmissionFilter.class))
+@Import({TaskJsonCache.class, TaskIdempotencyStore.class, TaskProtobufMapper.class, TaskExportWriter.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties({TaskBatchProperties.class, TaskChangeFeedProperties.class, TaskIdempotencyProperties.class,
+        TaskJsonCacheProperties.class})
 class TaskControllerTest {
 
+    private static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private TaskService taskService;
 
@@ -35,12 +101,14 @@ class TaskControllerTest {
     @BeforeEach
     void setUp() {
         taskRequestDTO = new TaskRequestDTO("Test Task", "Test Description", "Pending");
-        taskResponseDTO = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending");
+        taskResponseDTO = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending", 0L);
+        when(taskService.getTasksVersion(any())).thenReturn(Mono.just("1-1-0"));
+        when(taskService.getTasksVersionByUserEmail(any())).thenReturn(Mono.just("1-1-0"));
     }
 
     @Test
     void createTask_ShouldReturnCreatedTask() {
-        when(taskService.createTask(any(TaskRequestDTO.class))).thenReturn(Mono.just(taskResponseDTO));
+        when(taskService.createTask(any(), any(TaskRequestDTO.class))).thenReturn(Mono.just(taskResponseDTO));
 
         webTestClient.post()
                 .uri("/api/tasks")
@@ -52,9 +120,192 @@ class TaskControllerTest {
                 .isEqualTo(taskResponseDTO);
     }
 
+    @Test
+    void createTask_ShouldReplayTheFirstResponse_WhenRetriedWithTheSameIdempotencyKey() {
+        when(taskService.createTask(any(), any(TaskRequestDTO.class))).thenReturn(Mono.just(taskResponseDTO));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post()
+                    .uri("/api/tasks")
+                    .header("username", "user@example.com")
+                    .header(TaskIdempotencyStore.HEADER, "create-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(taskRequestDTO)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(TaskResponseDTO.class)
+                    .isEqualTo(taskResponseDTO);
+        }
+        verify(taskService, times(1)).createTask(any(), any(TaskRequestDTO.class));
+
+        webTestClient.post()
+                .uri("/api/tasks")
+                .header("username", "user@example.com")
+                .header(TaskIdempotencyStore.HEADER, "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskRequestDTO("Other Task", "Test Description", "Pending"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(IDEMPOTENCY_KEY_WAS_REUSED + "create-1");
+        verify(taskService, times(1)).createTask(any(), any(TaskRequestDTO.class));
+    }
+
+    @Test
+    void createTask_ShouldReadAndWriteProtobuf_WhenRequested() throws Exception {
+        when(taskService.createTask(any(), eq(taskRequestDTO))).thenReturn(Mono.just(taskResponseDTO));
+        TaskRequest request = TaskRequest.newBuilder()
+                .setTitle("Test Task").setDescription("Test Description").setStatus("Pending").build();
+
+        byte[] body = webTestClient.post()
+                .uri("/api/tasks")
+                .contentType(APPLICATION_PROTOBUF)
+                .accept(APPLICATION_PROTOBUF)
+                .bodyValue(request.toByteArray())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(APPLICATION_PROTOBUF)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertThat(TaskResponse.parseFrom(body)).isEqualTo(TaskResponse.newBuilder()
+                .setId(1L).setTitle("Test Task").setDescription("Test Description").setStatus("Pending").build());
+    }
+
+    @Test
+    void createTask_ShouldReturnBadRequest_WhenProtobufBodyMissesRequiredFields() {
+        webTestClient.post()
+                .uri("/api/tasks")
+                .contentType(APPLICATION_PROTOBUF)
+                .bodyValue(TaskRequest.newBuilder().setTitle("Test Task").build().toByteArray())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void createTask_ShouldReturnServiceUnavailableWithRetryAfter_WhenTheInsertQueueIsFull() {
+        when(taskService.createTask(any(), any(TaskRequestDTO.class)))
+                .thenReturn(Mono.error(new ServiceUnavailableException(TOO_MANY_PENDING_TASKS, 1)));
+
+        webTestClient.post()
+                .uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    @Test
+    void createTasks_ShouldStreamPerItemResults_ForNdjsonBody() {
+        TaskBatchResultDTO created = TaskBatchResultDTO.created(0, taskResponseDTO);
+        TaskBatchResultDTO failed = TaskBatchResultDTO.failed(1, "title: Title is required and cannot be empty or blank.");
+        when(taskService.createTasks(eq("user@example.com"), any())).thenReturn(Flux.just(created, failed));
+
+        webTestClient.post()
+                .uri("/api/tasks/batch")
+                .header("username", "user@example.com")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"title\":\"Test Task\",\"description\":\"Test Description\",\"status\":\"Pending\"}\n"
+                        + "{\"title\":\"\",\"description\":\"Test Description\",\"status\":\"Pending\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskBatchResultDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(created, failed)
+                .verifyComplete();
+    }
+
+    @Test
+    void createTasks_ShouldReadACborArrayOfItems() throws Exception {
+        when(taskService.createTasks(any(), any())).thenAnswer(invocation -> {
+            Flux<TaskRequestDTO> items = invocation.getArgument(1);
+            return items.index((index, item) -> TaskBatchResultDTO.created(index, taskResponseDTO));
+        });
+
+        byte[] body = webTestClient.post()
+                .uri("/api/tasks/batch")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(CBOR.writeValueAsBytes(List.of(taskRequestDTO, taskRequestDTO)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<TaskBatchResultDTO> results = CBOR.readValue(body, new TypeReference<>() {
+        });
+        assertThat(results).containsExactly(TaskBatchResultDTO.created(0, taskResponseDTO),
+                TaskBatchResultDTO.created(1, taskResponseDTO));
+    }
+
+    @Test
+    void exportTasks_ShouldStreamAGzippedCsvAttachment_WhenTheClientAcceptsCsvAndGzip() throws Exception {
+        when(taskService.exportTasks(any())).thenReturn(Flux.just(
+                new TaskExportDTO(1L, "Test Task", "Test, Description", "Pending", "user@example.com", 0L)));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/tasks/export")
+                .accept(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("text/csv")
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"")
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                    "id,title,description,status,userEmail,version\n1,Test Task,\"Test, Description\",Pending,user@example.com,0\n");
+        }
+    }
+
+    @Test
+    void exportTasks_ShouldStreamNdjson_ByDefault() {
+        TaskExportDTO task = new TaskExportDTO(1L, "Test Task", "Test Description", "Pending", "user@example.com", 0L);
+        when(taskService.exportTasks(any())).thenReturn(Flux.just(task, task));
+
+        webTestClient.get()
+                .uri("/api/tasks/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .returnResult(TaskExportDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(task, task)
+                .verifyComplete();
+    }
+
+    @Test
+    void importTasks_ShouldPassTheRowsOfACsvUploadToTheService() {
+        when(taskService.importTasks(eq("user@example.com"), any())).thenAnswer(invocation -> {
+            Flux<TaskExportDTO> rows = invocation.getArgument(1);
+            return rows.map(TaskExportDTO::getTitle)
+                    .collectList()
+                    .map(titles -> new TaskImportResultDTO(titles.size(), 0,
+                            List.of(TaskBatchResultDTO.failed(0, String.join("|", titles)))));
+        });
+
+        webTestClient.post()
+                .uri("/api/tasks/import")
+                .header("username", "user@example.com")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("title,description,status\nFirst,\"Multi\nline\",Pending\nSecond,Plain,Done\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskImportResultDTO.class)
+                .isEqualTo(new TaskImportResultDTO(2, 0, List.of(TaskBatchResultDTO.failed(0, "First|Second"))));
+    }
+
     @Test
     void getTaskById_ShouldReturnTask_WhenTaskExists() {
-        when(taskService.getTaskById(anyLong())).thenReturn(Mono.just(taskResponseDTO));
+        when(taskService.getTaskById(anyLong(), any())).thenReturn(Mono.just(taskResponseDTO));
 
         webTestClient.get()
                 .uri("/api/tasks/{id}", 1L)
@@ -64,9 +315,49 @@ class TaskControllerTest {
                 .isEqualTo(taskResponseDTO);
     }
 
+    @Test
+    void getTaskById_ShouldLeaveOutFieldsOutsideTheSparseFieldset_AndTagItAsItsOwnRepresentation() {
+        when(taskService.getTaskById(1L, "title"))
+                .thenReturn(Mono.just(new TaskResponseDTO(1L, "Test Task", null, null, 0L)));
+
+        webTestClient.get()
+                .uri("/api/tasks/{id}?fields=title", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0-id,version,title\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.title").isEqualTo("Test Task")
+                .jsonPath("$.version").isEqualTo(0)
+                .jsonPath("$.description").doesNotExist()
+                .jsonPath("$.status").doesNotExist();
+    }
+
+    @Test
+    void getAllTasks_ShouldTagASparseFieldsetAsItsOwnRepresentation_AndRejectUnknownFields() {
+        when(taskService.getAllTasks(null, "status, title")).thenReturn(Flux.just(new TaskResponseDTO(1L, "Test Task", null, "Pending", 0L)));
+
+        webTestClient.get()
+                .uri("/api/tasks?fields=status, title")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-1-0-ndjson-id,version,title,status\"");
+
+        webTestClient.get()
+                .uri("/api/tasks?fields=title,userEmail")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(FIELDS_ARE_NOT_VALID);
+
+        verify(taskService, never()).getAllTasks(any(), eq("title,userEmail"));
+    }
+
     @Test
     void getTaskById_ShouldReturnNotFound_WhenTaskDoesNotExist() {
-        when(taskService.getTaskById(anyLong())).thenReturn(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + 999L)));
+        when(taskService.getTaskById(anyLong(), any())).thenReturn(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + 999L)));
 
         webTestClient.get()
                 .uri("/api/tasks/{id}", 999L)
@@ -74,9 +365,124 @@ class TaskControllerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void getTaskById_ShouldReturnProtobufError_WhenTaskDoesNotExistAndProtobufIsAccepted() throws Exception {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + 1L)));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/tasks/1")
+                .accept(APPLICATION_PROTOBUF)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertThat(ErrorResponse.parseFrom(body).getMessage()).isEqualTo(TASK_NOT_FOUND_ID + 1L);
+    }
+
+    @Test
+    void getTaskById_ShouldReturnJsonError_WhenAnyMediaTypeIsAccepted() {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.error(new TaskNotFoundException(TASK_NOT_FOUND_ID + 1L)));
+
+        webTestClient.get()
+                .uri("/api/tasks/1")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void getTaskById_ShouldReturnCbor_WhenRequested() throws Exception {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.just(taskResponseDTO));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/tasks/1")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertThat(CBOR.readValue(body, TaskResponseDTO.class)).isEqualTo(taskResponseDTO);
+    }
+
+    @Test
+    void getTaskById_ShouldWriteTheBodyFromTheJsonCache_OnRepeatedReads() {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.just(taskResponseDTO));
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri("/api/tasks/{id}", 1L)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TaskResponseDTO.class)
+                    .isEqualTo(taskResponseDTO);
+        }
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", TaskJsonCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void getTaskById_ShouldReturnNotModified_WhenIfNoneMatchHasTheCurrentVersion() {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.just(taskResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/tasks/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+
+        webTestClient.get()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getTaskById_ShouldTagEachEncodingApart_AndVaryOnAccept() {
+        when(taskService.getTaskById(1L, null)).thenReturn(Mono.just(taskResponseDTO));
+
+        // The JSON tag does not match the CBOR body, so a cache holding the JSON cannot answer a CBOR client with 304.
+        webTestClient.get()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0-cbor\"")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        webTestClient.get()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0-cbor\"")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnExistingTasks() {
+        TaskResponseDTO other = new TaskResponseDTO(3L, "Other Task", "Other Description", "Done", 2L);
+        when(taskService.getTasksByIds(List.of(1L, 2L, 3L), null)).thenReturn(Flux.just(taskResponseDTO, other));
+
+        webTestClient.get()
+                .uri("/api/tasks?ids=1,2,3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBodyList(TaskResponseDTO.class)
+                .isEqualTo(List.of(taskResponseDTO, other));
+    }
+
     @Test
     void getAllTasks_ShouldReturnListOfTasks() {
-        when(taskService.getAllTasks()).thenReturn(Flux.just(taskResponseDTO));
+        when(taskService.getAllTasks(null, null)).thenReturn(Flux.just(taskResponseDTO));
 
         webTestClient.get()
                 .uri("/api/tasks")
@@ -87,9 +493,224 @@ class TaskControllerTest {
                 .contains(taskResponseDTO);
     }
 
+    @Test
+    void getAllTasks_ShouldReturnNoContent_WhenThereAreNoTasks() {
+        when(taskService.getAllTasks(null, null)).thenReturn(Flux.empty());
+
+        webTestClient.get()
+                .uri("/api/tasks")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getAllTasks_ShouldStreamNdjson_WhenRequested() {
+        TaskResponseDTO secondTask = new TaskResponseDTO(2L, "Second Task", "Second Description", "Done", 0L);
+        when(taskService.getAllTasks(null, null)).thenReturn(Flux.just(taskResponseDTO, secondTask));
+
+        webTestClient.get()
+                .uri("/api/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskResponseDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(taskResponseDTO, secondTask)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllTasks_ShouldStreamLengthDelimitedProtobuf_WhenRequested() throws Exception {
+        TaskResponseDTO secondTask = new TaskResponseDTO(2L, "Second Task", "Second Description", "Done", 3L);
+        when(taskService.getAllTasks(null, null)).thenReturn(Flux.just(taskResponseDTO, secondTask));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/tasks")
+                .accept(APPLICATION_PROTOBUF)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-1-0-protobuf\"")
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        assertThat(TaskResponse.parseDelimitedFrom(input).getTitle()).isEqualTo("Test Task");
+        assertThat(TaskResponse.parseDelimitedFrom(input).getVersion()).isEqualTo(3L);
+        assertThat(TaskResponse.parseDelimitedFrom(input)).isNull();
+    }
+
+    @Test
+    void getAllTasks_ShouldStreamACborArray_WhenRequested() throws Exception {
+        when(taskService.getAllTasks(null, null)).thenReturn(Flux.just(taskResponseDTO, taskResponseDTO));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/tasks")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-1-0-cbor\"")
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        assertThat(CBOR.readValue(body, TaskResponseDTO[].class)).containsExactly(taskResponseDTO, taskResponseDTO);
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnPageWithNextCursor_WhenLimitIsGiven() {
+        when(taskService.getTasksPage(null, null, 1, null)).thenReturn(Mono.just(new TaskPageDTO(List.of(taskResponseDTO), "next")));
+
+        webTestClient.get()
+                .uri("/api/tasks?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR_HEADER, "next")
+                .expectBodyList(TaskResponseDTO.class)
+                .hasSize(1)
+                .contains(taskResponseDTO);
+    }
+
+    @Test
+    void getAllTasksByUserEmail_ShouldReturnLastPageWithoutCursor() {
+        when(taskService.getTasksPageByUserEmail("user@example.com", "cursor", DEFAULT_PAGE_SIZE, null))
+                .thenReturn(Mono.just(new TaskPageDTO(List.of(taskResponseDTO), null)));
+
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks?after=cursor")
+                .header("username", "user@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(NEXT_CURSOR_HEADER);
+    }
+
+    @Test
+    void searchTasks_ShouldReturnMatchesWithNextCursor() {
+        when(taskService.searchTasks("test", null, 1))
+                .thenReturn(Mono.just(new TaskPageDTO(List.of(taskResponseDTO), "next")));
+
+        webTestClient.get()
+                .uri("/api/tasks/search?q=test&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR_HEADER, "next")
+                .expectBodyList(TaskResponseDTO.class)
+                .hasSize(1)
+                .contains(taskResponseDTO);
+    }
+
+    @Test
+    void getAllTasksByUserEmail_ShouldReturnNotModifiedWithoutReadingTasks_WhenIfNoneMatchHasTheListVersion() {
+        when(taskService.getTasksVersionByUserEmail("user@example.com")).thenReturn(Mono.just("3-7-2"));
+        when(taskService.getAllTasksByUserEmail("user@example.com", null)).thenReturn(Flux.just(taskResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", "user@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3-7-2\"");
+
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", "user@example.com")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3-7-2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody().isEmpty();
+
+        // The NDJSON stream is another representation of the list, so the JSON tag does not match it.
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", "user@example.com")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3-7-2\"")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3-7-2-ndjson\"");
+
+        verify(taskService, times(2)).getAllTasksByUserEmail("user@example.com", null);
+    }
+
+    @Test
+    void getTaskStatsByUserEmail_ShouldReturnCountsPerStatus() {
+        TaskStatsDTO stats = new TaskStatsDTO(3, Map.of("Done", 1L, "Pending", 2L));
+        when(taskService.getTaskStatsByUserEmail("user@example.com")).thenReturn(Mono.just(stats));
+
+        webTestClient.get()
+                .uri("/api/tasks/my-stats")
+                .header("username", "user@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskStatsDTO.class)
+                .isEqualTo(stats);
+    }
+
+    @Test
+    void getTaskChanges_ShouldStreamServerSentEventsWithTheirIds_ResumingAfterLastEventId() {
+        when(taskService.getTaskChanges("user@example.com", "41")).thenReturn(Flux.just(
+                new TaskChangeDTO(42L, TaskChangeType.UPDATED, taskResponseDTO),
+                TaskChangeDTO.reset(43L)));
+
+        Flux<ServerSentEvent<TaskChangeDTO>> events = webTestClient.get()
+                .uri("/api/tasks/changes")
+                .header("username", "user@example.com")
+                .header("Last-Event-ID", "41")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskChangeDTO>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo("42");
+                    assertThat(event.event()).isEqualTo("UPDATED");
+                    assertThat(event.data().getTask()).isEqualTo(taskResponseDTO);
+                })
+                .assertNext(event -> assertThat(event.event()).isEqualTo("RESET"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnBadRequest_WhenLimitIsNotANumber() {
+        webTestClient.get()
+                .uri("/api/tasks?limit=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllTasksByUserEmail_ShouldReturnTasksOfUser() {
+        when(taskService.getAllTasksByUserEmail("user@example.com", null)).thenReturn(Flux.just(taskResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", "user@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskResponseDTO.class)
+                .hasSize(1)
+                .contains(taskResponseDTO);
+    }
+
+    @Test
+    void getAllTasksByUserEmail_ShouldReturnNoContent_WhenUserHasNoTasks() {
+        when(taskService.getAllTasksByUserEmail("user@example.com", null)).thenReturn(Flux.empty());
+
+        webTestClient.get()
+                .uri("/api/tasks/my-tasks")
+                .header("username", "user@example.com")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
     @Test
     void updateTask_ShouldReturnUpdatedTask() {
-        when(taskService.updateTask(anyLong(), any(TaskRequestDTO.class))).thenReturn(Mono.just(taskResponseDTO));
+        when(taskService.updateTask(anyLong(), any(TaskRequestDTO.class), isNull())).thenReturn(Mono.just(taskResponseDTO));
 
         webTestClient.put()
                 .uri("/api/tasks/{id}", 1L)
@@ -101,6 +722,106 @@ class TaskControllerTest {
                 .isEqualTo(taskResponseDTO);
     }
 
+    @Test
+    void updateTask_ShouldPassIfMatchVersion_AndReturnNewETag() {
+        TaskResponseDTO updatedTask = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending", 4L);
+        when(taskService.updateTask(eq(1L), any(TaskRequestDTO.class), eq(3L))).thenReturn(Mono.just(updatedTask));
+
+        webTestClient.put()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody(TaskResponseDTO.class)
+                .isEqualTo(updatedTask);
+    }
+
+    @Test
+    void updateTask_ShouldTakeTheVersionFromTheTagOfAnyEncoding() {
+        TaskResponseDTO updatedTask = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending", 4L);
+        when(taskService.updateTask(eq(1L), any(TaskRequestDTO.class), eq(3L))).thenReturn(Mono.just(updatedTask));
+
+        webTestClient.put()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3-cbor\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(taskRequestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4-cbor\"");
+    }
+
+    @Test
+    void updateTask_ShouldReturnConflict_WhenVersionIsStale() {
+        when(taskService.updateTask(eq(1L), any(TaskRequestDTO.class), eq(3L)))
+                .thenReturn(Mono.error(new TaskConflictException("Task was modified by another request, Id: 1")));
+
+        webTestClient.put()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void updateTask_ShouldReturnBadRequest_WhenIfMatchIsNotAVersion() {
+        webTestClient.put()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void patchTask_ShouldReturnPatchedTaskWithNewETag() {
+        TaskResponseDTO patchedTask = new TaskResponseDTO(1L, "Test Task", "Test Description", "Done", 4L);
+        when(taskService.patchTask(1L, new TaskPatchRequestDTO(null, null, "Done"), 3L)).thenReturn(Mono.just(patchedTask));
+
+        webTestClient.patch()
+                .uri("/api/tasks/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\":\"Done\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody(TaskResponseDTO.class)
+                .isEqualTo(patchedTask);
+    }
+
+    @Test
+    void patchTask_ShouldLeaveFieldsUnsetInTheProtobufBodyOut() {
+        TaskPatchRequestDTO patch = new TaskPatchRequestDTO(null, null, "Done");
+        when(taskService.patchTask(eq(1L), eq(patch), isNull())).thenReturn(Mono.just(taskResponseDTO));
+
+        webTestClient.patch()
+                .uri("/api/tasks/1")
+                .contentType(APPLICATION_PROTOBUF)
+                .bodyValue(TaskPatchRequest.newBuilder().setStatus("Done").build().toByteArray())
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(taskService).patchTask(eq(1L), eq(patch), isNull());
+    }
+
+    @Test
+    void patchTask_ShouldReturnBadRequest_WhenFieldIsBlank() {
+        webTestClient.patch()
+                .uri("/api/tasks/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\":\" \"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void deleteTask_ShouldReturnNoContent_WhenTaskIsDeleted() {
         when(taskService.deleteTask(anyLong())).thenReturn(Mono.empty());
@@ -110,4 +831,34 @@ class TaskControllerTest {
                 .exchange()
                 .expectStatus().isNoContent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteTasks_ShouldReturnDeletedCount() {
+        when(taskService.deleteTasks(List.of(1L, 2L, 3L))).thenReturn(Mono.just(new TaskDeleteResultDTO(3, 2)));
+
+        webTestClient.delete()
+                .uri("/api/tasks?ids=1,2,3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskDeleteResultDTO.class)
+                .isEqualTo(new TaskDeleteResultDTO(3, 2));
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnBadRequest_WhenIdsAreMissing() {
+        webTestClient.delete()
+                .uri("/api/tasks")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getSchema_ShouldPublishTheProtobufSchema() {
+        webTestClient.get()
+                .uri("/api/tasks/schema/task.proto")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(schema -> assertThat(schema).contains("message TaskRequest {", "message TaskResponse {"));
+    }
+}
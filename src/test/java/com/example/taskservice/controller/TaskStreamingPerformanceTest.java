@@ -0,0 +1,76 @@
+package com.example.taskservice.controller;
+
+import com.example.taskservice.dto.TaskResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"eureka.client.enabled=false", "task.admission.enabled=false"})
+class TaskStreamingPerformanceTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SAMPLE_EVERY = 50_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM tasks").then().block();
+        databaseClient.sql("INSERT INTO tasks (title, description, status, user_email) "
+                        + "SELECT CONCAT('Task ', X), REPEAT('d', 200), 'Pending', 'load@example.com' "
+                        + "FROM SYSTEM_RANGE(1, " + ROWS + ")")
+                .then()
+                .block();
+    }
+
+    @Test
+    void getAllTasks_ShouldKeepHeapFlat_WhileStreamingAMillionRows() {
+        long baseline = usedHeapAfterGc();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicLong received = new AtomicLong();
+
+        WebClient.create("http://localhost:" + port)
+                .get()
+                .uri("/api/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(TaskResponseDTO.class)
+                .limitRate(256)
+                .doOnNext(task -> {
+                    if (received.incrementAndGet() % SAMPLE_EVERY == 0) {
+                        peak.accumulateAndGet(usedHeapAfterGc(), Math::max);
+                    }
+                })
+                .blockLast(Duration.ofMinutes(5));
+
+        assertThat(received.get()).isEqualTo(ROWS);
+        assertThat(peak.get() - baseline).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
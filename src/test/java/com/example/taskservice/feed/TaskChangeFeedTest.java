@@ -0,0 +1,163 @@
+package com.example.taskservice.feed;
+
+import com.example.taskservice.config.TaskChangeFeedProperties;
+import com.example.taskservice.dto.TaskChangeDTO;
+import com.example.taskservice.dto.TaskChangeType;
+import com.example.taskservice.dto.TaskResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+    private static final String USER = "user@example.com";
+    private static final String OTHER_USER = "other@example.com";
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskChangeFeed taskChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        TaskChangeFeedProperties properties = new TaskChangeFeedProperties();
+        properties.setBufferSize(4);
+        properties.setMaxPending(2);
+        meterRegistry = new SimpleMeterRegistry();
+        taskChangeFeed = new TaskChangeFeed(properties, meterRegistry);
+    }
+
+    @Test
+    void subscribe_ShouldReceiveLiveChangesOfItsUserOnly() {
+        StepVerifier.create(taskChangeFeed.subscribe(USER, null).map(TaskChangeDTO::getType))
+                .then(() -> {
+                    taskChangeFeed.publish(TaskChangeType.CREATED, USER, task(1L));
+                    taskChangeFeed.publish(TaskChangeType.CREATED, OTHER_USER, task(2L));
+                    taskChangeFeed.publish(TaskChangeType.DELETED, USER, task(1L));
+                })
+                .expectNext(TaskChangeType.CREATED, TaskChangeType.DELETED)
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.get("task.changes.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    void subscribe_ShouldReplayChangesAfterLastEventId_ThenFollowLiveOnes() {
+        long lastEventId = publish(TaskChangeType.CREATED, 1L);
+        taskChangeFeed.publish(TaskChangeType.UPDATED, USER, task(1L));
+        taskChangeFeed.publish(TaskChangeType.CREATED, OTHER_USER, task(2L));
+
+        StepVerifier.create(taskChangeFeed.subscribe(USER, String.valueOf(lastEventId)))
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(TaskChangeType.UPDATED);
+                    assertThat(change.getId()).isEqualTo(lastEventId + 1);
+                })
+                .then(() -> taskChangeFeed.publish(TaskChangeType.DELETED, USER, task(1L)))
+                .assertNext(change -> assertThat(change.getId()).isEqualTo(lastEventId + 3))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_ShouldSendReset_WhenLastEventIdIsNoLongerBuffered() {
+        long firstId = publish(TaskChangeType.CREATED, 1L);
+        for (int i = 0; i < 5; i++) {
+            taskChangeFeed.publish(TaskChangeType.UPDATED, USER, task(1L));
+        }
+
+        StepVerifier.create(taskChangeFeed.subscribe(USER, String.valueOf(firstId)))
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(TaskChangeType.RESET);
+                    assertThat(change.getId()).isEqualTo(firstId + 5);
+                })
+                .thenCancel()
+                .verify();
+        StepVerifier.create(taskChangeFeed.subscribe(USER, "not-an-id").map(TaskChangeDTO::getType))
+                .expectNext(TaskChangeType.RESET)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void slowSubscriber_ShouldBeCompletedAfterItsBufferedChanges_AndCatchUpOnReconnect() {
+        List<TaskChangeDTO> delivered = new ArrayList<>();
+        StepVerifier.create(taskChangeFeed.subscribe(USER, null), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 3; id++) {
+                        taskChangeFeed.publish(TaskChangeType.CREATED, USER, task(id));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .recordWith(() -> delivered)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("task.changes.disconnected").counter().count()).isEqualTo(1);
+        String lastEventId = String.valueOf(delivered.get(1).getId());
+        StepVerifier.create(taskChangeFeed.subscribe(USER, lastEventId).map(change -> change.getTask().getId()))
+                .expectNext(3L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void publish_ShouldNotWaitForAnotherPublishersDelivery_AndKeepTheOrderOfChanges() throws Exception {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        Disposable slow = taskChangeFeed.subscribe(USER, null)
+                .doOnNext(change -> {
+                    delivering.countDown();
+                    awaitQuietly(release);
+                    delivered.add(change.getTask().getId());
+                })
+                .subscribe();
+        Thread publisher = new Thread(() -> taskChangeFeed.publish(TaskChangeType.CREATED, USER, task(1L)));
+        publisher.start();
+        assertThat(delivering.await(1, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.runAsync(() -> {
+            taskChangeFeed.publish(TaskChangeType.CREATED, OTHER_USER, task(2L));
+            taskChangeFeed.publish(TaskChangeType.CREATED, USER, task(3L));
+        }).get(1, TimeUnit.SECONDS);
+        release.countDown();
+        publisher.join(1000);
+
+        assertThat(delivered).containsExactly(1L, 3L);
+        slow.dispose();
+    }
+
+    // Publishes with a live subscriber attached to learn the id the change was given.
+    private long publish(TaskChangeType type, Long taskId) {
+        AtomicLong id = new AtomicLong();
+        StepVerifier.create(taskChangeFeed.subscribe(USER, null))
+                .then(() -> taskChangeFeed.publish(type, USER, task(taskId)))
+                .consumeNextWith(change -> id.set(change.getId()))
+                .thenCancel()
+                .verify();
+        return id.get();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskResponseDTO task(Long id) {
+        return new TaskResponseDTO(id, "Task " + id, "Description " + id, "Pending", 0L);
+    }
+}
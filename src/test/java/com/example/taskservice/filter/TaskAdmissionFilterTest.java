@@ -0,0 +1,137 @@
+package com.example.taskservice.filter;
+
+import com.example.taskservice.config.TaskAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static com.example.taskservice.commons.Constants.SERVICE_IS_OVERLOADED;
+import static com.example.taskservice.commons.Constants.TOO_MANY_REQUESTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TaskAdmissionFilterTest {
+
+    private static final WebFilterChain ADMITTED = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    private TaskAdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskAdmissionProperties();
+    }
+
+    @Test
+    void filter_ShouldAnswer429WithRetryAfter_WhenAUserRunsOutOfTokens() {
+        properties.setRate(1);
+        properties.setBurst(2);
+        TaskAdmissionFilter filter = newFilter();
+
+        assertThat(statusOf(filter, "noisy@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+        assertThat(statusOf(filter, "noisy@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+
+        MockServerWebExchange rejected = exchange("noisy@example.com", "/api/tasks/my-tasks");
+        StepVerifier.create(filter.filter(rejected, ADMITTED)).verifyComplete();
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getResponse().getBodyAsString().block()).contains(TOO_MANY_REQUESTS);
+
+        assertThat(statusOf(filter, "quiet@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void filter_ShouldAnswer503_WhileTooManyRequestsAreInFlight() {
+        properties.setMaxConcurrent(1);
+        TaskAdmissionFilter filter = newFilter();
+        Sinks.Empty<Void> firstDone = Sinks.empty();
+
+        StepVerifier.create(filter.filter(exchange("first@example.com", "/api/tasks"), exchange -> firstDone.asMono()))
+                .then(() -> {
+                    MockServerWebExchange rejected = exchange("second@example.com", "/api/tasks");
+                    filter.filter(rejected, ADMITTED).block();
+                    assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    assertThat(rejected.getResponse().getBodyAsString().block()).contains(SERVICE_IS_OVERLOADED);
+                    firstDone.tryEmitEmpty();
+                })
+                .verifyComplete();
+
+        assertThat(statusOf(filter, "second@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void filter_ShouldNotUseUpTheRate_OfARequestTurnedAwayForOverload() {
+        properties.setMaxConcurrent(1);
+        properties.setBurst(1);
+        properties.setRate(0.001);
+        TaskAdmissionFilter filter = newFilter();
+        Sinks.Empty<Void> firstDone = Sinks.empty();
+
+        StepVerifier.create(filter.filter(exchange("first@example.com", "/api/tasks"), exchange -> firstDone.asMono()))
+                .then(() -> {
+                    assertThat(statusOf(filter, "second@example.com", ADMITTED)).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    firstDone.tryEmitEmpty();
+                })
+                .verifyComplete();
+
+        assertThat(statusOf(filter, "second@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void filter_ShouldNotRateLimitCallersWithoutAUsername() {
+        properties.setBurst(1);
+        properties.setRate(0.001);
+        TaskAdmissionFilter filter = newFilter();
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks/1"));
+            filter.filter(anonymous, ADMITTED).block();
+            assertThat(anonymous.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    @Test
+    void filter_ShouldNotLimitTheChangeFeedOrOtherPaths() {
+        properties.setMaxConcurrent(1);
+        properties.setBurst(1);
+        properties.setRate(0.001);
+        TaskAdmissionFilter filter = newFilter();
+
+        filter.filter(exchange("follower@example.com", "/api/tasks/changes"), exchange -> Mono.never()).subscribe();
+
+        assertThat(statusOf(filter, "other@example.com", ADMITTED)).isEqualTo(HttpStatus.OK);
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange health = exchange("follower@example.com", "/actuator/health");
+            filter.filter(health, ADMITTED).block();
+            assertThat(health.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    private TaskAdmissionFilter newFilter() {
+        return new TaskAdmissionFilter(properties, mock(ConnectionFactory.class),
+                ServerCodecConfigurer.create(), new SimpleMeterRegistry());
+    }
+
+    private static HttpStatus statusOf(TaskAdmissionFilter filter, String userEmail, WebFilterChain chain) {
+        MockServerWebExchange exchange = exchange(userEmail, "/api/tasks/my-tasks");
+        filter.filter(exchange, chain).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private static MockServerWebExchange exchange(String userEmail, String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header("username", userEmail));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskservice.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TaskRateLimiter rateLimiter = new TaskRateLimiter(10, 3, 100, now::get);
+
+    @Test
+    void tryAcquire_ShouldAdmitABurst_ThenOneRequestPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("user@example.com")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("user@example.com")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("user@example.com")).isZero();
+        assertThat(rateLimiter.tryAcquire("user@example.com")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepABucketPerKey() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("noisy@example.com");
+        }
+
+        assertThat(rateLimiter.tryAcquire("noisy@example.com")).isPositive();
+        assertThat(rateLimiter.tryAcquire("quiet@example.com")).isZero();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.taskservice.loadtest;
+
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: request i is due at start + i / rate whatever happened to earlier ones, and its latency is
+// measured from that due time. A closed loop that waits for responses would slow down with the server and hide
+// exactly the stalls a load test is meant to find (coordinated omission).
+@Slf4j
+class LoadGenerator {
+
+    private static final String USER_EMAIL = "load@example.com";
+    private static final int LIST_PAGE_SIZE = 50;
+
+    private final WebClient webClient;
+    private final LoadTestSettings settings;
+    private final List<Long> readIds;
+    private final Queue<Long> deletableIds;
+    private final LoadTestReport report;
+    private final LoadTestOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Reads and updates target readIds, which are never deleted; deletes consume deletableIds and what was created.
+    LoadGenerator(WebClient webClient, LoadTestSettings settings, List<Long> readIds, List<Long> deletableIds) {
+        this.webClient = webClient;
+        this.settings = settings;
+        this.readIds = List.copyOf(readIds);
+        this.deletableIds = new ConcurrentLinkedQueue<>(deletableIds);
+        this.report = new LoadTestReport(settings);
+        this.operations = settings.mix().keySet().toArray(new LoadTestOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    LoadTestReport run() {
+        double periodNanos = 1e9 / settings.rate();
+        long warmupRequests = (long) (settings.warmup().toNanos() / periodNanos);
+        long totalRequests = warmupRequests + (long) (settings.duration().toNanos() / periodNanos);
+        long start = System.nanoTime();
+        long measureFrom = start + (long) (warmupRequests * periodNanos);
+        log.info("Sending {} requests at {} req/s, the first {} as warm-up", totalRequests, settings.rate(), warmupRequests);
+
+        for (long i = 0; i < totalRequests; i++) {
+            long due = start + (long) (i * periodNanos);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(nextOperation(), due, i >= warmupRequests);
+        }
+
+        long drainDeadline = System.nanoTime() + settings.requestTimeout().toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        report.finish(System.nanoTime() - measureFrom);
+        return report;
+    }
+
+    private void send(LoadTestOperation operation, long due, boolean measured) {
+        if (inFlight.get() >= settings.maxInFlight()) {
+            if (measured) {
+                report.recordDropped(operation, "dropped, " + settings.maxInFlight() + " requests in flight");
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        request(operation)
+                .timeout(settings.requestTimeout())
+                .subscribe(
+                        status -> complete(operation, due, measured, status.isError() ? "HTTP " + status.value() : null),
+                        error -> complete(operation, due, measured, errorKind(error)));
+    }
+
+    private void complete(LoadTestOperation operation, long due, boolean measured, String errorKind) {
+        inFlight.decrementAndGet();
+        if (measured) {
+            report.recordCompleted(operation, System.nanoTime() - due, errorKind);
+        }
+    }
+
+    private Mono<HttpStatusCode> request(LoadTestOperation operation) {
+        return switch (operation) {
+            case CREATE -> webClient.post()
+                    .uri("/api/tasks")
+                    .header("username", USER_EMAIL)
+                    .bodyValue(taskRequest())
+                    .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                            ? response.bodyToMono(TaskResponseDTO.class)
+                                    .doOnNext(task -> deletableIds.add(task.getId()))
+                                    .thenReturn(response.statusCode())
+                            : drain(response));
+            case GET -> webClient.get()
+                    .uri("/api/tasks/{id}", randomReadId())
+                    .exchangeToMono(LoadGenerator::drain);
+            case LIST -> webClient.get()
+                    .uri("/api/tasks?limit={limit}", LIST_PAGE_SIZE)
+                    .exchangeToMono(LoadGenerator::drain);
+            case UPDATE -> webClient.put()
+                    .uri("/api/tasks/{id}", randomReadId())
+                    .bodyValue(taskRequest())
+                    .exchangeToMono(LoadGenerator::drain);
+            case DELETE -> {
+                Long id = deletableIds.poll();
+                yield id == null
+                        ? Mono.error(new IllegalStateException("no task left to delete"))
+                        : webClient.delete().uri("/api/tasks/{id}", id).exchangeToMono(LoadGenerator::drain);
+            }
+        };
+    }
+
+    // Reads the whole body so the latency includes the transfer, then reports only the status.
+    private static Mono<HttpStatusCode> drain(ClientResponse response) {
+        return response.releaseBody().thenReturn(response.statusCode());
+    }
+
+    private LoadTestOperation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Long randomReadId() {
+        return readIds.get(ThreadLocalRandom.current().nextInt(readIds.size()));
+    }
+
+    private static TaskRequestDTO taskRequest() {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        return new TaskRequestDTO("Load task " + n, "Generated by the load test " + n, n % 2 == 0 ? "Pending" : "Done");
+    }
+
+    private String errorKind(Throwable error) {
+        return error instanceof TimeoutException
+                ? "timed out after " + settings.requestTimeout()
+                : error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskservice.loadtest;
+
+import java.util.Locale;
+
+enum LoadTestOperation {
+    CREATE, GET, LIST, UPDATE, DELETE;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
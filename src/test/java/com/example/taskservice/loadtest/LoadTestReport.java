@@ -0,0 +1,129 @@
+package com.example.taskservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies are recorded in microseconds from each request's intended start, so a stalled server shows up
+// as queueing time instead of silently lowering the request rate.
+class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadTestSettings settings;
+    private final Map<LoadTestOperation, Histogram> latencies = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> requests = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> errors = new EnumMap<>(LoadTestOperation.class);
+    private final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+    private final Histogram total = histogram();
+    private volatile long elapsedNanos;
+
+    LoadTestReport(LoadTestSettings settings) {
+        this.settings = settings;
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            latencies.put(operation, histogram());
+            requests.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    // Every request that got an answer, or failed or timed out after being sent.
+    void recordCompleted(LoadTestOperation operation, long nanos, String errorKind) {
+        requests.get(operation).increment();
+        if (errorKind != null) {
+            recordError(operation, errorKind);
+        }
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        latencies.get(operation).recordValue(micros);
+        total.recordValue(micros);
+    }
+
+    // Requests that were due but never sent count as errors without a latency.
+    void recordDropped(LoadTestOperation operation, String kind) {
+        requests.get(operation).increment();
+        recordError(operation, kind);
+    }
+
+    private void recordError(LoadTestOperation operation, String kind) {
+        errors.get(operation).increment();
+        errorKinds.computeIfAbsent(operation.key() + ": " + kind, key -> new LongAdder()).increment();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long requests() {
+        return requests.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Offered %d req/s for %s after %s warm-up, mix %s%n",
+                settings.rate(), settings.duration(), settings.warmup(), settings.describeMix()));
+        summary.append(String.format("%-8s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "error%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            appendRow(summary, operation.key(), latencies.get(operation), requests.get(operation).sum(),
+                    errors.get(operation).sum());
+        }
+        appendRow(summary, "total", total, requests(), errors());
+        double seconds = elapsedNanos / 1e9;
+        summary.append(String.format("Achieved %.1f req/s over %.1f s%n", seconds == 0 ? 0 : requests() / seconds, seconds));
+        new TreeMap<>(errorKinds).forEach((kind, count) ->
+                summary.append(String.format("  %s: %d%n", kind, count.sum())));
+        return summary.toString();
+    }
+
+    // summary.txt plus one percentile distribution per operation, in the .hgrm format HdrHistogram's plotter reads.
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary());
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            writeDistribution(directory.resolve(operation.key() + ".hgrm"), latencies.get(operation));
+        }
+        writeDistribution(directory.resolve("total.hgrm"), total);
+    }
+
+    private static void appendRow(StringBuilder summary, String name, Histogram histogram, long requests, long errors) {
+        summary.append(String.format("%-8s %9d %8d %6.2f%% %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name, requests, errors, requests == 0 ? 0 : 100.0 * errors / requests,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Read from -Dloadtest.* system properties, e.g. -Dloadtest.rate=1000 -Dloadtest.mix=get=80,update=20
+record LoadTestSettings(int rate,
+                        Duration warmup,
+                        Duration duration,
+                        Map<LoadTestOperation, Integer> mix,
+                        int seedTasks,
+                        int maxInFlight,
+                        Duration requestTimeout,
+                        double maxErrorRate,
+                        Path reportDirectory) {
+
+    private static final String PREFIX = "loadtest.";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(property("rate", "100")),
+                Duration.parse(property("warmup", "PT15S")),
+                Duration.parse(property("duration", "PT30S")),
+                parseMix(property("mix", "create=20,get=40,list=10,update=20,delete=10")),
+                Integer.parseInt(property("seed-tasks", "2000")),
+                Integer.parseInt(property("max-in-flight", "512")),
+                Duration.parse(property("request-timeout", "PT10S")),
+                Double.parseDouble(property("max-error-rate", "0.01")),
+                Path.of(property("report-dir", "target/loadtest")));
+    }
+
+    static Map<LoadTestOperation, Integer> parseMix(String mix) {
+        Map<LoadTestOperation, Integer> weights = new EnumMap<>(LoadTestOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            weights.put(LoadTestOperation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix '" + mix + "' has no traffic");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    String describeMix() {
+        return mix.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskservice.loadtest;
+
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.service.TaskService;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Starts the service on the H2 profile and drives it over HTTP from the same JVM; no external services needed.
+// mvn test -Pperformance -Dtest=TaskLoadTest -Dloadtest.rate=1000 -Dloadtest.duration=PT60S
+@Slf4j
+@Tag("performance")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"eureka.client.enabled=false", "spring.profiles.active=h2", "task.admission.enabled=false"})
+class TaskLoadTest {
+
+    private static final String SEED_USER_EMAIL = "seed@example.com";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void mixedTraffic_ShouldStayWithinTheErrorBudget_AtAFixedArrivalRate() throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> readIds = seed(settings.seedTasks());
+        List<Long> deletableIds = seed(settings.seedTasks());
+
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(settings.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://127.0.0.1:" + port)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)
+                            .option(ChannelOption.TCP_NODELAY, true)))
+                    .build();
+
+            LoadTestReport report = new LoadGenerator(webClient, settings, readIds, deletableIds).run();
+            report.write(settings.reportDirectory());
+            log.info("Load test report, also written to {}:\n{}", settings.reportDirectory().toAbsolutePath(),
+                    report.summary());
+
+            assertThat(report.requests()).isPositive();
+            assertThat(report.errorRate()).isLessThanOrEqualTo(settings.maxErrorRate());
+        } finally {
+            connections.dispose();
+        }
+    }
+
+    private List<Long> seed(int count) {
+        return taskService.createTasks(SEED_USER_EMAIL, Flux.range(0, count)
+                        .map(i -> new TaskRequestDTO("Seed task " + i, "Seeded before the load test " + i, "Pending")))
+                .map(result -> result.getTask().getId())
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskservice.metrics;
+
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "eureka.client.enabled=false")
+class TaskMetricsIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeServiceRepositoryHttpAndPoolMetrics() {
+        TaskResponseDTO created = webTestClient.post()
+                .uri("/api/tasks")
+                .header("username", "metrics@example.com")
+                .bodyValue(new TaskRequestDTO("Metrics", "Metrics description", "Pending"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+        webTestClient.get()
+                .uri("/api/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        String scrape = webTestClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(scrape)
+                .contains("task_service_seconds_count{exception=\"none\",method=\"createTask\",outcome=\"success\"")
+                .contains("task_service_seconds_bucket{exception=\"none\",method=\"getTaskById\",outcome=\"success\"")
+                .contains("task_repository_seconds_count{exception=\"none\",method=\"save\",outcome=\"success\"")
+                .contains("task_repository_seconds_bucket{exception=\"none\",method=\"findAllById\"")
+                .contains("task_loader_batch_size_count")
+                .contains("http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/tasks/{id}\"")
+                .contains("r2dbc_pool_acquire_seconds_count{outcome=\"success\"")
+                .contains("task_lookups_total{coalesced=\"false\"")
+                .contains("r2dbc_query_seconds_bucket")
+                .contains("r2dbc_pool_acquired_connections")
+                .contains("r2dbc_pool_idle_connections")
+                .contains("r2dbc_pool_pending_connections");
+    }
+}
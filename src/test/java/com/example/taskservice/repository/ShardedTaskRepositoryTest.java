@@ -0,0 +1,181 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "task.shards.enabled=true",
+        "task.shards.urls[0]=r2dbc:h2:mem:///sharded-tasks-0?options=DB_CLOSE_DELAY=-1",
+        "task.shards.urls[1]=r2dbc:h2:mem:///sharded-tasks-1?options=DB_CLOSE_DELAY=-1",
+        "task.shards.urls[2]=r2dbc:h2:mem:///sharded-tasks-2?options=DB_CLOSE_DELAY=-1"})
+class ShardedTaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskShardConnectionFactory shards;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // The user at index i lives on shard i.
+    private List<String> users;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll().block();
+        users = IntStream.range(0, shards.getShardCount()).mapToObj(this::userOn).toList();
+    }
+
+    @Test
+    void save_ShouldStoreTasksOnTheShardOfTheirUser_WithIdsNamingThatShard() {
+        List<Task> saved = users.stream()
+                .flatMap(user -> IntStream.range(0, 2).mapToObj(i -> taskRepository.save(newTask(user, "Task " + i)).block()))
+                .toList();
+
+        assertThat(saved).extracting(Task::getId).doesNotHaveDuplicates();
+        for (Task task : saved) {
+            assertThat(shards.shardOf(task.getId())).isEqualTo(shards.shardOf(task.getUserEmail()));
+        }
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            assertThat(countOn(shard)).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void findByIdAndFindByUserEmail_ShouldReadTheShardHoldingTheRows() {
+        Task saved = taskRepository.save(newTask(users.get(1), "Second shard")).block();
+        taskRepository.save(newTask(users.get(2), "Third shard")).block();
+
+        StepVerifier.create(taskRepository.findById(saved.getId()).map(Task::getTitle))
+                .expectNext("Second shard")
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findByUserEmail(users.get(1)).map(Task::getTitle))
+                .expectNext("Second shard")
+                .verifyComplete();
+        StepVerifier.create(taskRepository.update(saved.getId(), Map.of("status", "Done"), 0L).map(Task::getVersion))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_ShouldReturnTheTasksInInputOrder_WhenTheyGoToDifferentShards() {
+        List<Task> tasks = List.of(newTask(users.get(2), "First"), newTask(users.get(0), "Second"),
+                newTask(users.get(2), "Third"), newTask(users.get(1), "Fourth"));
+
+        StepVerifier.create(taskRepository.insertAll(tasks).map(Task::getTitle))
+                .expectNext("First", "Second", "Third", "Fourth")
+                .verifyComplete();
+        assertThat(countOn(2)).isEqualTo(2L);
+    }
+
+    @Test
+    void findAllAndFindPage_ShouldMergeEveryShard_InIdOrderForPages() {
+        List<Long> ids = taskRepository.insertAll(users.stream()
+                        .flatMap(user -> IntStream.range(0, 3).mapToObj(i -> newTask(user, user + " " + i)))
+                        .toList())
+                .map(Task::getId)
+                .sort(Comparator.naturalOrder())
+                .collectList()
+                .block();
+
+        StepVerifier.create(taskRepository.findAll().count())
+                .expectNext(9L)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findPage(0L, 4).map(Task::getId).collectList())
+                .expectNext(ids.subList(0, 4))
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findPage(ids.get(3), 10).map(Task::getId).collectList())
+                .expectNext(ids.subList(4, 9))
+                .verifyComplete();
+    }
+
+    @Test
+    void aggregatesAndDeletes_ShouldCombineEveryShard() {
+        Task done = newTask(users.get(1), "Done");
+        done.setStatus("Done");
+        List<Task> saved = taskRepository.insertAll(List.of(newTask(users.get(0), "First"), done,
+                newTask(users.get(2), "Third"))).collectList().block();
+
+        StepVerifier.create(taskRepository.countByStatus().collectList())
+                .expectNext(List.of(new TaskStatusCount("Done", 1L), new TaskStatusCount("Pending", 2L)))
+                .verifyComplete();
+        TaskListVersion version = taskRepository.findListVersion().block();
+        assertThat(version.getTotal()).isEqualTo(3L);
+        assertThat(version.getMaxId()).isEqualTo(saved.stream().mapToLong(Task::getId).max().getAsLong());
+
+        StepVerifier.create(taskRepository.deleteAllByIdReturning(List.of(saved.get(0).getId(), saved.get(2).getId(), -1L)).count())
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(taskRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findListVersion_ShouldChange_WhenOneShardDeletesAndAnotherCreatesBelowTheHighestId() {
+        Task first = taskRepository.save(newTask(users.get(0), "First")).block();
+        Task second = taskRepository.save(newTask(users.get(1), "Second")).block();
+        Task last = newTask(users.get(2), "Last");
+        while (taskRepository.save(last).block().getId() <= first.getId() + shards.getShardCount()) {
+            last = newTask(users.get(2), "Last");
+        }
+        TaskListVersion before = taskRepository.findListVersion().block();
+
+        taskRepository.deleteById(second.getId()).block();
+        Task created = taskRepository.save(newTask(users.get(0), "Created")).block();
+        TaskListVersion after = taskRepository.findListVersion().block();
+
+        assertThat(created.getId()).isLessThan(before.getMaxId());
+        assertThat(after.getTotal()).isEqualTo(before.getTotal());
+        assertThat(after.getMaxId()).isEqualTo(before.getMaxId());
+        assertThat(after.getVersionSum()).isEqualTo(before.getVersionSum());
+        assertThat(after.toETagValue()).isNotEqualTo(before.toETagValue());
+    }
+
+    @Test
+    void query_ShouldFail_WhenNoShardIsChosen() {
+        StepVerifier.create(databaseClient.sql("SELECT COUNT(*) FROM tasks").fetch().one())
+                .expectErrorMatches(error -> error.getCause() instanceof IllegalStateException)
+                .verify();
+    }
+
+    private long countOn(int shard) {
+        return databaseClient.sql("SELECT COUNT(*) FROM tasks")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .contextWrite(TaskShardConnectionFactory.shard(shard))
+                .block();
+    }
+
+    private String userOn(int shard) {
+        return IntStream.iterate(0, i -> i + 1)
+                .mapToObj(i -> "user" + i + "@example.com")
+                .filter(user -> shards.shardOf(user) == shard)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Task newTask(String userEmail, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title + " description");
+        task.setStatus("Pending");
+        task.setUserEmail(userEmail);
+        return task;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskLoaderProperties;
+import com.example.taskservice.config.TaskReplicaProperties;
+import com.example.taskservice.entity.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskBatchLoaderTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskLoaderProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReplicaRouter taskReplicaRouter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new TaskLoaderProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        taskReplicaRouter = new TaskReplicaRouter(new TaskReplicaProperties(), null, meterRegistry);
+    }
+
+    @Test
+    void load_ShouldAnswerLookupsWithinOneWindow_WithOneQuery() {
+        properties.setWindow(Duration.ofMillis(50));
+        when(taskRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(task(1L), task(3L)));
+        TaskBatchLoader taskBatchLoader = new TaskBatchLoader(taskRepository, properties, taskReplicaRouter, meterRegistry);
+
+        StepVerifier.create(Flux.merge(
+                        taskBatchLoader.load(1L).map(Task::getId),
+                        taskBatchLoader.load(2L).map(Task::getId).defaultIfEmpty(-2L),
+                        taskBatchLoader.load(3L).map(Task::getId),
+                        taskBatchLoader.load(1L).map(Task::getId)).collectList())
+                .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(1L, -2L, 3L, 1L))
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).findAllById(Set.of(1L, 2L, 3L));
+        assertThat(meterRegistry.get(TaskBatchLoader.METRIC_NAME).summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void load_ShouldDispatchAFullBatch_WithoutWaitingForTheWindow() {
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxBatchSize(2);
+        when(taskRepository.findAllById(any(Iterable.class))).thenReturn(Flux.just(task(1L), task(2L)));
+        TaskBatchLoader taskBatchLoader = new TaskBatchLoader(taskRepository, properties, taskReplicaRouter, meterRegistry);
+
+        StepVerifier.create(Flux.merge(taskBatchLoader.load(1L), taskBatchLoader.load(2L)).map(Task::getId).collectList())
+                .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(1L, 2L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void load_ShouldFailEveryLookupOfTheBatch_WhenTheQueryFails() {
+        when(taskRepository.findAllById(any(Iterable.class))).thenReturn(Flux.error(new IllegalStateException("database down")));
+        TaskBatchLoader taskBatchLoader = new TaskBatchLoader(taskRepository, properties, taskReplicaRouter, meterRegistry);
+
+        StepVerifier.create(Flux.merge(
+                        taskBatchLoader.load(1L).onErrorResume(error -> Mono.just(task(-1L))),
+                        taskBatchLoader.load(2L).onErrorResume(error -> Mono.just(task(-1L)))).map(Task::getId).collectList())
+                .assertNext(ids -> assertThat(ids).containsExactly(-1L, -1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void load_ShouldCompleteEveryLookup_WhenCallersRaceWithFullBatchesAndWindows() {
+        properties.setWindow(Duration.ofMillis(1));
+        properties.setMaxBatchSize(7);
+        when(taskRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(TaskBatchLoaderTest::task);
+        });
+        TaskBatchLoader taskBatchLoader = new TaskBatchLoader(taskRepository, properties, taskReplicaRouter, meterRegistry);
+
+        StepVerifier.create(Flux.range(0, 10_000)
+                        .parallel(4)
+                        .runOn(Schedulers.parallel())
+                        .flatMap(i -> taskBatchLoader.load((long) i % 500).map(Task::getId))
+                        .sequential()
+                        .count())
+                .expectNext(10_000L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void load_ShouldQueryById_WhenDisabled() {
+        properties.setEnabled(false);
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(task(1L)));
+        TaskBatchLoader taskBatchLoader = new TaskBatchLoader(taskRepository, properties, taskReplicaRouter, meterRegistry);
+
+        StepVerifier.create(taskBatchLoader.load(1L).map(Task::getId))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(taskRepository, never()).findAllById(any(Iterable.class));
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+}
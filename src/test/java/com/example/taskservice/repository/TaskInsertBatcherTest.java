@@ -0,0 +1,123 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskInsertBatchProperties;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskInsertBatcherTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskInsertBatchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new TaskInsertBatchProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void insert_ShouldWriteConcurrentTasksInOneStatement_AndHandEachCallerItsOwnId() {
+        properties.setWindow(Duration.ofMillis(50));
+        when(taskRepository.insertAll(anyList())).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+        TaskInsertBatcher taskInsertBatcher = new TaskInsertBatcher(taskRepository, properties, meterRegistry);
+
+        StepVerifier.create(Flux.merge(
+                        taskInsertBatcher.insert(task("first")),
+                        taskInsertBatcher.insert(task("second")),
+                        taskInsertBatcher.insert(task("third"))).collectList())
+                .assertNext(tasks -> assertThat(tasks)
+                        .extracting(task -> task.getTitle() + "=" + task.getId())
+                        .containsExactlyInAnyOrder("first=1", "second=2", "third=3"))
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).insertAll(anyList());
+        assertThat(meterRegistry.get(TaskInsertBatcher.METRIC_NAME).summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("task.insert.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void insert_ShouldRefuseTasks_WhenTheQueueIsFull() {
+        properties.setMaxBatchSize(1);
+        properties.setCapacity(1);
+        Sinks.Many<Task> slowInsert = Sinks.many().unicast().onBackpressureBuffer();
+        when(taskRepository.insertAll(anyList())).thenReturn(slowInsert.asFlux());
+        TaskInsertBatcher taskInsertBatcher = new TaskInsertBatcher(taskRepository, properties, meterRegistry);
+
+        taskInsertBatcher.insert(task("queued")).subscribe();
+
+        StepVerifier.create(taskInsertBatcher.insert(task("refused")))
+                .expectErrorMatches(error -> error instanceof ServiceUnavailableException
+                        && ((ServiceUnavailableException) error).getRetryAfterSeconds() == 1)
+                .verify();
+        assertThat(meterRegistry.get("task.insert.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void insert_ShouldFailEveryCallerOfTheBatch_WhenTheStatementFails() {
+        when(taskRepository.insertAll(anyList())).thenReturn(Flux.error(new IllegalStateException("database down")));
+        TaskInsertBatcher taskInsertBatcher = new TaskInsertBatcher(taskRepository, properties, meterRegistry);
+
+        StepVerifier.create(Flux.merge(
+                        taskInsertBatcher.insert(task("first")).onErrorResume(error -> Mono.just(task("failed"))),
+                        taskInsertBatcher.insert(task("second")).onErrorResume(error -> Mono.just(task("failed"))))
+                        .map(Task::getTitle)
+                        .collectList())
+                .assertNext(titles -> assertThat(titles).containsExactly("failed", "failed"))
+                .verifyComplete();
+        assertThat(meterRegistry.get("task.insert.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void insert_ShouldSaveDirectly_WhenDisabled() {
+        properties.setEnabled(false);
+        Task task = task("direct");
+        when(taskRepository.save(task)).thenReturn(Mono.just(task));
+        TaskInsertBatcher taskInsertBatcher = new TaskInsertBatcher(taskRepository, properties, meterRegistry);
+
+        StepVerifier.create(taskInsertBatcher.insert(task))
+                .expectNext(task)
+                .verifyComplete();
+
+        verify(taskRepository, never()).insertAll(anyList());
+    }
+
+    private Flux<Task> saved(List<Task> tasks) {
+        return Flux.fromIterable(tasks).map(task -> {
+            Task saved = task(task.getTitle());
+            saved.setId(nextId.getAndIncrement());
+            return saved;
+        });
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.config.TaskReplicaProperties;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.r2dbc.url=r2dbc:h2:mem:///rw-primary?options=DB_CLOSE_DELAY=-1",
+        "task.replica.enabled=true",
+        "task.replica.url=" + TaskReplicaRoutingTest.REPLICA_URL,
+        "task.replica.stickiness=2s",
+        "task.cache.enabled=false"})
+class TaskReplicaRoutingTest {
+
+    static final String REPLICA_URL = "r2dbc:h2:mem:///rw-replica?options=DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private ObjectProvider<ConnectionFactoryDecorator> decorators;
+
+    private DatabaseClient primary;
+    private DatabaseClient replica;
+
+    // Both databases hold the same IDs with different titles, so every read tells which one served it.
+    // Nothing replicates between them: the replica only changes when a test writes to it directly.
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory replicaConnectionFactory = ConnectionFactories.get(REPLICA_URL);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(replicaConnectionFactory).block();
+        primary = DatabaseClient.create(connectionFactory);
+        replica = DatabaseClient.create(replicaConnectionFactory);
+        primary.sql("DELETE FROM tasks").then().block();
+        replica.sql("DELETE FROM tasks").then().block();
+    }
+
+    @Test
+    void reads_ShouldGoToTheReplica() {
+        insertOnBoth(101L, "reader@example.com");
+
+        StepVerifier.create(taskService.getTaskById(101L).map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasksByUserEmail("reader@example.com").map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasks().map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+    }
+
+    @Test
+    void readsAfterAWrite_ShouldGoToThePrimary_UntilTheStickinessExpires() throws InterruptedException {
+        insertOnBoth(201L, "writer@example.com");
+        insertOnBoth(202L, "other@example.com");
+
+        StepVerifier.create(taskService.patchTask(201L, new TaskPatchRequestDTO(null, null, "Done"), null)
+                        .map(TaskResponseDTO::getTitle))
+                .expectNext("Primary copy")
+                .verifyComplete();
+
+        StepVerifier.create(taskService.getTaskById(201L).map(TaskResponseDTO::getStatus))
+                .expectNext("Done")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasksByUserEmail("writer@example.com").map(TaskResponseDTO::getTitle))
+                .expectNext("Primary copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasksByUserEmail("other@example.com").map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasks("writer@example.com", null).map(TaskResponseDTO::getTitle))
+                .expectNext("Primary copy", "Primary copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasks("other@example.com", null).map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy", "Replica copy")
+                .verifyComplete();
+
+        Thread.sleep(2500);
+
+        StepVerifier.create(taskService.getTaskById(201L).map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+        StepVerifier.create(taskService.getAllTasksByUserEmail("writer@example.com").map(TaskResponseDTO::getTitle))
+                .expectNext("Replica copy")
+                .verifyComplete();
+    }
+
+    @Test
+    void reads_ShouldFallBackToThePrimary_WhenTheReplicaIsDown() {
+        insertOnBoth(301L, "reader@example.com");
+        TaskReplicaProperties properties = new TaskReplicaProperties();
+        properties.setEnabled(true);
+        // IFEXISTS makes H2 refuse to connect instead of creating the missing database.
+        properties.setUrl("r2dbc:h2:mem:///missing-replica?options=IFEXISTS=TRUE");
+        TaskReplicaRouter router = new TaskReplicaRouter(properties, decorators, new SimpleMeterRegistry());
+        try {
+            DatabaseClient client = DatabaseClient.create(router.route(connectionFactory));
+
+            StepVerifier.create(client.sql("SELECT title FROM tasks WHERE id = 301")
+                            .map(row -> row.get(0, String.class))
+                            .one()
+                            .contextWrite(router.read()))
+                    .expectNext("Primary copy")
+                    .verifyComplete();
+            assertThat(router.isReplicaHealthy()).isFalse();
+        } finally {
+            router.destroy();
+        }
+    }
+
+    private void insertOnBoth(Long id, String userEmail) {
+        insert(primary, id, "Primary copy", userEmail);
+        insert(replica, id, "Replica copy", userEmail);
+    }
+
+    private static void insert(DatabaseClient databaseClient, Long id, String title, String userEmail) {
+        databaseClient.sql("INSERT INTO tasks (id, title, description, status, user_email) VALUES (:id, :title, :title, 'Pending', :userEmail)")
+                .bind("id", id)
+                .bind("title", title)
+                .bind("userEmail", userEmail)
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll().block();
+    }
+
+    @Test
+    void insertAll_ShouldInsertEveryRowAndReturnGeneratedIdsInInputOrder() {
+        List<Task> tasks = List.of(newTask("First"), newTask("Second"), newTask("Third"));
+
+        StepVerifier.create(taskRepository.insertAll(tasks).map(Task::getTitle))
+                .expectNext("First", "Second", "Third")
+                .verifyComplete();
+
+        StepVerifier.create(taskRepository.findByUserEmail("user@example.com").count())
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_ShouldDoNothing_WhenListIsEmpty() {
+        StepVerifier.create(taskRepository.insertAll(List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageByUserEmail_ShouldReturnTasksAfterTheGivenIdInIdOrder() {
+        List<Task> inserted = taskRepository.insertAll(List.of(newTask("First"), newTask("Second"), newTask("Third")))
+                .collectList()
+                .block();
+
+        StepVerifier.create(taskRepository.findPageByUserEmail("user@example.com", inserted.get(0).getId(), 1)
+                        .map(Task::getTitle))
+                .expectNext("Second")
+                .verifyComplete();
+
+        StepVerifier.create(taskRepository.findPage(inserted.get(1).getId(), 10).map(Task::getTitle))
+                .expectNext("Third")
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageByUserEmail_ShouldReadOnlyTheSelectedColumns_ForASparseFieldset() {
+        List<Task> inserted = taskRepository.insertAll(List.of(newTask("First"), newTask("Second")))
+                .collectList()
+                .block();
+
+        StepVerifier.create(taskRepository.findPageByUserEmail("user@example.com", 0L, 10, TaskFields.parse("title")))
+                .expectNextMatches(task -> task.getId().equals(inserted.get(0).getId())
+                        && task.getTitle().equals("First")
+                        && task.getVersion() == 0L
+                        && task.getDescription() == null
+                        && task.getStatus() == null
+                        && task.getUserEmail() == null)
+                .expectNextMatches(task -> task.getTitle().equals("Second"))
+                .verifyComplete();
+
+        StepVerifier.create(taskRepository.findAllById(List.of(inserted.get(1).getId()), TaskFields.parse("status"))
+                        .map(task -> task.getStatus() + "/" + task.getTitle()))
+                .expectNext("Pending/null")
+                .verifyComplete();
+    }
+
+    @Test
+    void save_ShouldStartNewTasksAtVersionZero() {
+        StepVerifier.create(taskRepository.save(newTask("First")).map(Task::getVersion))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void update_ShouldSetColumnsAndBumpVersion_WhenExpectedVersionMatches() {
+        Task saved = taskRepository.save(newTask("First")).block();
+
+        StepVerifier.create(taskRepository.update(saved.getId(), Map.of("status", "Done"), 0L))
+                .expectNextMatches(updated -> updated.getStatus().equals("Done")
+                        && updated.getTitle().equals("First")
+                        && updated.getVersion() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void update_ShouldMatchNothing_WhenExpectedVersionIsStale() {
+        Task saved = taskRepository.save(newTask("First")).block();
+        taskRepository.update(saved.getId(), Map.of("status", "Done"), null).block();
+
+        StepVerifier.create(taskRepository.update(saved.getId(), Map.of("status", "Pending"), 0L))
+                .verifyComplete();
+    }
+
+    @Test
+    void countByStatusAndUserEmail_ShouldGroupTasksOfTheUserByStatus() {
+        Task done = newTask("Second");
+        done.setStatus("Done");
+        Task otherUser = newTask("Third");
+        otherUser.setUserEmail("other@example.com");
+        taskRepository.insertAll(List.of(newTask("First"), done, otherUser, newTask("Fourth"))).blockLast();
+
+        StepVerifier.create(taskRepository.countByStatusAndUserEmail("user@example.com").collectList())
+                .expectNextMatches(counts -> counts.size() == 2
+                        && counts.contains(new TaskStatusCount("Pending", 2L))
+                        && counts.contains(new TaskStatusCount("Done", 1L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteAllByIdReturning_ShouldReturnTheIdOwnerAndVersionOfTheDeletedRows() {
+        List<Task> saved = taskRepository.insertAll(List.of(newTask("First"), newTask("Second"), newTask("Third")))
+                .collectList()
+                .block();
+
+        StepVerifier.create(taskRepository.deleteAllByIdReturning(List.of(saved.get(0).getId(), saved.get(2).getId(), -1L))
+                        .sort(Comparator.comparing(Task::getId)))
+                .assertNext(deleted -> assertDeleted(deleted, saved.get(0)))
+                .assertNext(deleted -> assertDeleted(deleted, saved.get(2)))
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findAll().map(Task::getTitle))
+                .expectNext("Second")
+                .verifyComplete();
+    }
+
+    @Test
+    void findListVersionByUserEmail_ShouldChangeWithEveryCreateUpdateAndDelete() {
+        List<Task> saved = taskRepository.insertAll(List.of(newTask("First"), newTask("Second"))).collectList().block();
+        TaskListVersion created = taskRepository.findListVersionByUserEmail("user@example.com").block();
+        assertThat(created.getTotal()).isEqualTo(2L);
+        assertThat(created.getMaxId()).isEqualTo(saved.get(1).getId());
+
+        taskRepository.update(saved.get(0).getId(), Map.of("status", "Done"), null).block();
+        TaskListVersion updated = taskRepository.findListVersionByUserEmail("user@example.com").block();
+        assertThat(updated.getVersionSum()).isEqualTo(created.getVersionSum() + 1);
+
+        taskRepository.deleteById(saved.get(0).getId()).block();
+        TaskListVersion deleted = taskRepository.findListVersionByUserEmail("user@example.com").block();
+        assertThat(deleted.toETagValue()).isNotEqualTo(updated.toETagValue());
+
+        StepVerifier.create(taskRepository.findListVersionByUserEmail("nobody@example.com").map(TaskListVersion::toETagValue))
+                .expectNext("0-0-0")
+                .verifyComplete();
+        StepVerifier.create(taskRepository.findListVersion().map(TaskListVersion::getTotal))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    private static void assertDeleted(Task deleted, Task saved) {
+        assertThat(deleted.getId()).isEqualTo(saved.getId());
+        assertThat(deleted.getUserEmail()).isEqualTo(saved.getUserEmail());
+        assertThat(deleted.getVersion()).isEqualTo(saved.getVersion());
+        assertThat(deleted.getDescription()).isNull();
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title + " description");
+        task.setStatus("Pending");
+        task.setUserEmail("user@example.com");
+        return task;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskservice.search;
+
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryTaskSearchEngineTest {
+
+    @Test
+    void search_ShouldLoadMatchesInRankOrder_AndSkipRowsDeletedMeanwhile() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        InMemoryTaskSearchEngine engine = new InMemoryTaskSearchEngine(taskRepository);
+        Task best = task(1L, "Report report report");
+        Task second = task(2L, "Report and more words in the title");
+        Task deleted = task(3L, "Report");
+        engine.index(best);
+        engine.index(second);
+        engine.index(deleted);
+        when(taskRepository.findAllById(List.of(1L, 3L, 2L))).thenReturn(Flux.just(second, best));
+
+        StepVerifier.create(engine.search("report", null, 0, 10).map(Task::getId))
+                .expectNext(1L, 2L)
+                .verifyComplete();
+    }
+
+    private Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setVersion(0L);
+        return task;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskservice.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("performance")
+class InvertedTaskIndexBenchmarkTest {
+
+    private static final int TASKS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int TITLE_WORDS = 3;
+    private static final int DESCRIPTION_WORDS = 12;
+    private static final int QUERIES = 2_000;
+    private static final int SCANS = 20;
+    private static final int UPDATES = 100_000;
+    private static final int PAGE_SIZE = 50;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final double[] cumulative = zipf();
+
+    @Test
+    void search_ShouldAnswerFromTheIndexFarFasterThanAFullScan_On1MTasks() {
+        InvertedTaskIndex index = new InvertedTaskIndex();
+        // Word ids of every task, the least a client filtering a full download would have to look at.
+        int[][] corpus = new int[TASKS][];
+
+        long buildStart = System.nanoTime();
+        for (int id = 1; id <= TASKS; id++) {
+            int[] words = randomWords(TITLE_WORDS + DESCRIPTION_WORDS);
+            corpus[id - 1] = words;
+            index.put((long) id, "user" + (id % 1_000) + "@example.com", 0L,
+                    text(words, 0, TITLE_WORDS), text(words, TITLE_WORDS, words.length));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            long id = 1 + random.nextInt(TASKS);
+            int[] words = randomWords(TITLE_WORDS + DESCRIPTION_WORDS);
+            index.put(id, "user" + (id % 1_000) + "@example.com", 1L + i,
+                    text(words, 0, TITLE_WORDS), text(words, TITLE_WORDS, words.length));
+        }
+        long updateNanos = (System.nanoTime() - updateStart) / UPDATES;
+
+        String[] queries = new String[QUERIES];
+        int[][] queryWords = new int[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            // Mid-frequency words: common enough to match thousands of tasks, rare enough to mean something.
+            queryWords[i] = new int[]{50 + random.nextInt(2_000), 50 + random.nextInt(2_000)};
+            queries[i] = "w" + queryWords[i][0] + " w" + queryWords[i][1];
+        }
+
+        for (String query : queries) {
+            index.search(query, null, 0, PAGE_SIZE);
+        }
+        long[] indexLatencies = new long[QUERIES];
+        long matches = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            matches += index.search(queries[i], null, 0, PAGE_SIZE).size();
+            indexLatencies[i] = System.nanoTime() - start;
+        }
+
+        long[] scanLatencies = new long[SCANS];
+        for (int i = 0; i < SCANS; i++) {
+            long start = System.nanoTime();
+            scan(corpus, queryWords[i]);
+            scanLatencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(indexLatencies);
+        Arrays.sort(scanLatencies);
+        long indexP50 = indexLatencies[QUERIES / 2];
+        long indexP99 = indexLatencies[(int) Math.ceil(QUERIES * 0.99) - 1];
+        long scanP50 = scanLatencies[SCANS / 2];
+        log.info("Indexed {} tasks in {} ms ({} tasks/s); incremental update {} us",
+                TASKS, buildMillis, TASKS * 1_000L / Math.max(1, buildMillis), updateNanos / 1_000);
+        log.info("Two-word search over {} tasks: index p50 {} us, p99 {} us ({} results); full scan p50 {} us",
+                TASKS, indexP50 / 1_000, indexP99 / 1_000, matches, scanP50 / 1_000);
+
+        assertThat(index.size()).isEqualTo(TASKS);
+        assertThat(matches).isPositive();
+        assertThat(indexP50 * 10).isLessThan(scanP50);
+        assertThat(indexP99).isLessThan(scanP50);
+    }
+
+    private static int scan(int[][] corpus, int[] wanted) {
+        int matches = 0;
+        for (int[] words : corpus) {
+            boolean all = true;
+            for (int word : wanted) {
+                boolean found = false;
+                for (int candidate : words) {
+                    if (candidate == word) {
+                        found = true;
+                        break;
+                    }
+                }
+                all &= found;
+            }
+            if (all) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private int[] randomWords(int count) {
+        int[] words = new int[count];
+        for (int i = 0; i < count; i++) {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble());
+            words[i] = Math.min(VOCABULARY - 1, position >= 0 ? position : -position - 1);
+        }
+        return words;
+    }
+
+    private static String text(int[] words, int from, int to) {
+        StringBuilder text = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            text.append('w').append(words[i]).append(' ');
+        }
+        return text.toString();
+    }
+
+    // Natural-language word frequencies roughly follow Zipf's law: the n-th most common word appears about 1/n as often.
+    private static double[] zipf() {
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 1; rank <= VOCABULARY; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < VOCABULARY; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.taskservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedTaskIndexTest {
+
+    private InvertedTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedTaskIndex();
+        index.put(1L, "user@example.com", 0L, "Quarterly report", "Draft the quarterly report for finance");
+        index.put(2L, "user@example.com", 0L, "Report bug", "The login page breaks");
+        index.put(3L, "other@example.com", 0L, "Quarterly planning", "Plan the next quarter and write a report");
+    }
+
+    @Test
+    void search_ShouldReturnDocumentsContainingEveryTerm_BestRankedFirst() {
+        assertThat(index.search("REPORT quarterly", null, 0, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("report missing", null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldFilterByUserEmail() {
+        assertThat(index.search("quarterly", "other@example.com", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedResults() {
+        assertThat(index.search("report", null, 0, 2)).containsExactly(1L, 2L);
+        assertThat(index.search("report", null, 2, 2)).containsExactly(3L);
+    }
+
+    @Test
+    void put_ShouldReplaceTheTermsOfAnExistingDocument() {
+        index.put(2L, "user@example.com", 1L, "Fix login", "The login page breaks");
+
+        assertThat(index.search("report", null, 0, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("login", null, 0, 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_ShouldIgnoreOlderVersions() {
+        index.put(2L, "user@example.com", 2L, "Fix login", "The login page breaks");
+        index.put(2L, "user@example.com", 1L, "Report bug", "The login page breaks");
+
+        assertThat(index.search("bug", null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void remove_ShouldDropTheDocumentFromEveryTerm() {
+        index.remove(1L);
+
+        assertThat(index.search("quarterly", null, 0, 10)).containsExactly(3L);
+        assertThat(index.search("finance", null, 0, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tokenize_ShouldLowerCaseAndSplitOnNonAlphanumerics() {
+        assertThat(InvertedTaskIndex.tokenize("Ship v2.0 -- ÜBER fast!")).containsExactly("ship", "v2", "0", "über", "fast");
+    }
+}
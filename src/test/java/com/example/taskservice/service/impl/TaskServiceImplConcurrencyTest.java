@@ -0,0 +1,62 @@
+package com.example.taskservice.service.impl;
+
+import com.example.taskservice.dto.TaskRequestDTO;
+import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.exception.TaskConflictException;
+import com.example.taskservice.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"eureka.client.enabled=false", "task.cache.enabled=false"})
+class TaskServiceImplConcurrencyTest {
+
+    private static final int WORKERS = 4;
+    private static final int INCREMENTS_PER_WORKER = 10;
+    private static final Duration THINK_TIME = Duration.ofMillis(1);
+
+    @Autowired
+    private TaskService taskService;
+
+    // Every worker increments a counter kept in the description with read-modify-write cycles guarded
+    // by If-Match semantics. Any lost update would leave the counter below the number of increments.
+    // A short pause between read and write makes the workers interleave.
+    @Test
+    void updateTask_ShouldNotLoseUpdates_UnderConcurrentReadModifyWrite() {
+        Long id = taskService.createTask("race@example.com", new TaskRequestDTO("Counter", "0", "Pending"))
+                .map(TaskResponseDTO::getId)
+                .block();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        Flux.range(0, WORKERS)
+                .flatMap(worker -> Flux.range(0, INCREMENTS_PER_WORKER)
+                        .concatMap(increment -> incrementCounter(id, conflicts))
+                        .subscribeOn(Schedulers.parallel()))
+                .blockLast(Duration.ofMinutes(1));
+
+        TaskResponseDTO result = taskService.getTaskById(id).block();
+        int increments = WORKERS * INCREMENTS_PER_WORKER;
+        assertThat(result.getDescription()).isEqualTo(String.valueOf(increments));
+        assertThat(result.getVersion()).isEqualTo(increments);
+        assertThat(conflicts.get()).isPositive();
+    }
+
+    private Mono<TaskResponseDTO> incrementCounter(Long id, AtomicInteger conflicts) {
+        return Mono.defer(() -> taskService.getTaskById(id)
+                        .delayElement(THINK_TIME)
+                        .flatMap(current -> taskService.updateTask(id,
+                                new TaskRequestDTO("Counter", String.valueOf(Integer.parseInt(current.getDescription()) + 1), "Pending"),
+                                current.getVersion())))
+                .doOnError(TaskConflictException.class, error -> conflicts.incrementAndGet())
+                .retryWhen(Retry.indefinitely().filter(TaskConflictException.class::isInstance));
+    }
+}
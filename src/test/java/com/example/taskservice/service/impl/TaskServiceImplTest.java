@@ -1,21 +1,70 @@
 package com.example.taskservice.service.impl;
 
+import com.example.taskservice.cache.TaskCache;
+import com.example.taskservice.cache.TaskJsonCache;
+import com.example.taskservice.cache.TaskLoadCoalescer;
+import com.example.taskservice.cache.TaskStatsCache;
+import com.example.taskservice.commons.TaskCursor;
+import com.example.taskservice.commons.TaskFields;
+import com.example.taskservice.config.TaskBatchProperties;
+import com.example.taskservice.config.TaskCacheProperties;
+import com.example.taskservice.config.TaskReplicaProperties;
+import com.example.taskservice.config.TaskStatsCacheProperties;
+import com.example.taskservice.dto.TaskBatchResultDTO;
+import com.example.taskservice.dto.TaskChangeType;
+import com.example.taskservice.dto.TaskDeleteResultDTO;
+import com.example.taskservice.dto.TaskExportDTO;
+import com.example.taskservice.dto.TaskImportResultDTO;
+import com.example.taskservice.dto.TaskPageDTO;
+import com.example.taskservice.dto.TaskPatchRequestDTO;
 import com.example.taskservice.dto.TaskRequestDTO;
 import com.example.taskservice.dto.TaskResponseDTO;
+import com.example.taskservice.dto.TaskStatsDTO;
 import com.example.taskservice.entity.Task;
+import com.example.taskservice.exception.BadRequestException;
+import com.example.taskservice.exception.TaskConflictException;
 import com.example.taskservice.exception.TaskNotFoundException;
+import com.example.taskservice.feed.TaskChangeFeed;
 import com.example.taskservice.mapper.TaskMapper;
+import com.example.taskservice.repository.TaskBatchLoader;
+import com.example.taskservice.repository.TaskInsertBatcher;
+import com.example.taskservice.repository.TaskListVersion;
+import com.example.taskservice.repository.TaskReplicaRouter;
 import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskStatusCount;
+import com.example.taskservice.search.TaskSearchEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.taskservice.commons.Constants.FIELDS_ARE_NOT_VALID;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class TaskServiceImplTest {
@@ -23,9 +72,42 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskBatchLoader taskBatchLoader;
+
+    @Mock
+    private TaskInsertBatcher taskInsertBatcher;
+
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskSearchEngine taskSearchEngine;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private TaskJsonCache taskJsonCache;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(new TaskCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private TaskLoadCoalescer taskLoadCoalescer = new TaskLoadCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private TaskStatsCache taskStatsCache = new TaskStatsCache(new TaskStatsCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private TaskReplicaRouter taskReplicaRouter = new TaskReplicaRouter(new TaskReplicaProperties(), null, new SimpleMeterRegistry());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TaskBatchProperties taskBatchProperties = new TaskBatchProperties();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -36,6 +118,8 @@ class TaskServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(taskBatchLoader.load(anyLong())).thenAnswer(invocation -> taskRepository.findById((Long) invocation.getArgument(0)));
+        when(taskInsertBatcher.insert(any(Task.class))).thenAnswer(invocation -> taskRepository.save((Task) invocation.getArgument(0)));
 
         // Initialize your test data
         task = new Task();
@@ -43,9 +127,10 @@ class TaskServiceImplTest {
         task.setTitle("Test Task");
         task.setDescription("Test Description");
         task.setStatus("Pending");
+        task.setUserEmail("user@example.com");
 
         taskRequestDTO = new TaskRequestDTO("Test Task", "Test Description", "Pending");
-        taskResponseDTO = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending");
+        taskResponseDTO = new TaskResponseDTO(1L, "Test Task", "Test Description", "Pending", 0L);
     }
 
     @Test
@@ -59,9 +144,79 @@ class TaskServiceImplTest {
         StepVerifier.create(result)
                 .expectNext(taskResponseDTO)
                 .verifyComplete();
+
+        verify(taskChangeFeed).publish(TaskChangeType.CREATED, "user@example.com", taskResponseDTO);
     }
 
 
+    @Test
+    void createTasks_ShouldReportEachItem_AndInsertValidItemsOfAChunkTogether() {
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        TaskResponseDTO secondResponse = new TaskResponseDTO(2L, "Second Task", "Second Description", "Done", 0L);
+        TaskRequestDTO invalidRequest = new TaskRequestDTO("", "Description", "Pending");
+        when(taskMapper.toEntity(any(TaskRequestDTO.class))).thenAnswer(invocation -> new Task());
+        when(taskRepository.insertAll(anyList())).thenReturn(Flux.just(task, secondTask));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+        when(taskMapper.toResponseDto(secondTask)).thenReturn(secondResponse);
+
+        Flux<TaskBatchResultDTO> result = taskService.createTasks("user@example.com",
+                Flux.just(taskRequestDTO, invalidRequest, taskRequestDTO));
+
+        StepVerifier.create(result)
+                .expectNext(TaskBatchResultDTO.created(0, taskResponseDTO))
+                .expectNext(TaskBatchResultDTO.failed(1, "title: Title is required and cannot be empty or blank."))
+                .expectNext(TaskBatchResultDTO.created(2, secondResponse))
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void createTasks_ShouldFailEveryItemOfAChunk_WhenInsertFails() {
+        taskBatchProperties.setChunkSize(1);
+        when(taskMapper.toEntity(any(TaskRequestDTO.class))).thenAnswer(invocation -> new Task());
+        when(taskRepository.insertAll(anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("Connection lost")))
+                .thenReturn(Flux.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        Flux<TaskBatchResultDTO> result = taskService.createTasks("user@example.com", Flux.just(taskRequestDTO, taskRequestDTO));
+
+        StepVerifier.create(result)
+                .expectNext(TaskBatchResultDTO.failed(0, "Connection lost"))
+                .expectNext(TaskBatchResultDTO.created(1, taskResponseDTO))
+                .verifyComplete();
+    }
+
+    @Test
+    void importTasks_ShouldInsertAChunkAtATime_AndGiveRowsWithoutAUserEmailToTheImportingUser() {
+        taskBatchProperties.setChunkSize(2);
+        when(taskMapper.toRequestDto(any(TaskExportDTO.class))).thenAnswer(invocation -> {
+            TaskExportDTO row = invocation.getArgument(0);
+            return new TaskRequestDTO(row.getTitle(), row.getDescription(), row.getStatus());
+        });
+        when(taskMapper.toEntity(any(TaskRequestDTO.class))).thenAnswer(invocation -> new Task());
+        List<List<String>> insertedUsers = new ArrayList<>();
+        when(taskRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            insertedUsers.add(tasks.stream().map(Task::getUserEmail).toList());
+            return Flux.fromIterable(tasks).map(inserted -> task);
+        });
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        Mono<TaskImportResultDTO> result = taskService.importTasks("importer@example.com", Flux.just(
+                new TaskExportDTO(7L, "First", "Description", "Pending", "owner@example.com", 3L),
+                new TaskExportDTO(8L, "", "Description", "Pending", "owner@example.com", 0L),
+                new TaskExportDTO(null, "Third", "Description", "Done", null, null)));
+
+        StepVerifier.create(result)
+                .expectNext(new TaskImportResultDTO(2, 1,
+                        List.of(TaskBatchResultDTO.failed(1, "title: Title is required and cannot be empty or blank."))))
+                .verifyComplete();
+        assertThat(insertedUsers).containsExactly(List.of("owner@example.com"), List.of("importer@example.com"));
+    }
+
     @Test
     void getTaskById_ShouldReturnTaskResponseDTO_WhenTaskExists() {
         when(taskRepository.findById(1L)).thenReturn(Mono.just(task));
@@ -74,6 +229,86 @@ class TaskServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getTaskById_ShouldServeRepeatedReadsFromCache() {
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        StepVerifier.create(taskService.getTaskById(1L).then(taskService.getTaskById(1L)))
+                .expectNext(taskResponseDTO)
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTaskById_ShouldQueryOnce_ForConcurrentLookupsOfTheSameId() {
+        Sinks.One<Task> found = Sinks.one();
+        when(taskRepository.findById(1L)).thenReturn(found.asMono());
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        StepVerifier.create(Flux.merge(taskService.getTaskById(1L), taskService.getTaskById(1L), taskService.getTaskById(1L)))
+                .then(() -> found.tryEmitValue(task))
+                .expectNext(taskResponseDTO, taskResponseDTO, taskResponseDTO)
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnExistingTasksInRequestedOrder() {
+        Task other = new Task();
+        other.setId(3L);
+        TaskResponseDTO otherResponseDTO = new TaskResponseDTO(3L, "Other Task", "Other Description", "Done", 0L);
+        when(taskRepository.findById(3L)).thenReturn(Mono.just(other));
+        when(taskRepository.findById(2L)).thenReturn(Mono.empty());
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+        when(taskMapper.toResponseDto(other)).thenReturn(otherResponseDTO);
+
+        StepVerifier.create(taskService.getTasksByIds(List.of(3L, 2L, 1L, 3L)))
+                .expectNext(otherResponseDTO, taskResponseDTO)
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void getTaskById_ShouldReadOnlyTheSelectedColumns_AndBypassTheCache_ForASparseFieldset() {
+        Task projected = new Task();
+        projected.setId(1L);
+        projected.setTitle("Test Task");
+        projected.setVersion(0L);
+        TaskResponseDTO projectedResponseDTO = new TaskResponseDTO(1L, "Test Task", null, null, 0L);
+        when(taskRepository.findById(eq(1L), any(TaskFields.class))).thenReturn(Mono.just(projected));
+        when(taskMapper.toResponseDto(projected)).thenReturn(projectedResponseDTO);
+
+        StepVerifier.create(taskService.getTaskById(1L, "title"))
+                .expectNext(projectedResponseDTO)
+                .verifyComplete();
+
+        verify(taskRepository).findById(1L, TaskFields.parse("title"));
+        verify(taskBatchLoader, never()).load(anyLong());
+    }
+
+    @Test
+    void getTasksPage_ShouldReturnBadRequest_WhenFieldsAreNotValid() {
+        StepVerifier.create(taskService.getTasksPage(null, null, 10, "title,userEmail"))
+                .expectErrorMatches(error -> error instanceof BadRequestException
+                        && error.getMessage().equals(FIELDS_ARE_NOT_VALID))
+                .verify();
+
+        verify(taskRepository, never()).findPage(any(), anyInt(), any(TaskFields.class));
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnBadRequest_WhenIdsAreMissing() {
+        StepVerifier.create(taskService.getTasksByIds(List.of()))
+                .expectErrorMatches(error -> error instanceof BadRequestException
+                        && error.getMessage().equals("Ids are required and cannot be empty."))
+                .verify();
+    }
+
     @Test
     void getTaskById_ShouldReturnError_WhenTaskDoesNotExist() {
         when(taskRepository.findById(1L)).thenReturn(Mono.empty());
@@ -99,9 +334,65 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void updateTask_ShouldReturnUpdatedTaskResponseDTO() {
-        when(taskRepository.findById(1L)).thenReturn(Mono.just(task));
-        when(taskRepository.save(task)).thenReturn(Mono.just(task));
+    void getTasksPage_ShouldReturnNextCursor_WhenMoreTasksExist() {
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        when(taskRepository.findPage(0L, 2)).thenReturn(Flux.just(task, secondTask));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+        when(taskMapper.toResponseDto(secondTask)).thenReturn(new TaskResponseDTO(2L, null, null, null, null));
+
+        Mono<TaskPageDTO> result = taskService.getTasksPage(null, 1);
+
+        StepVerifier.create(result)
+                .expectNext(new TaskPageDTO(List.of(taskResponseDTO), TaskCursor.encode(1L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPageByUserEmail_ShouldResumeAfterCursor_AndOmitNextCursorOnLastPage() {
+        when(taskRepository.findPageByUserEmail("user@example.com", 1L, 51)).thenReturn(Flux.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        Mono<TaskPageDTO> result = taskService.getTasksPageByUserEmail("user@example.com", TaskCursor.encode(1L), 50);
+
+        StepVerifier.create(result)
+                .expectNext(new TaskPageDTO(List.of(taskResponseDTO), null))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksPage_ShouldReturnError_WhenCursorIsNotValid() {
+        Mono<TaskPageDTO> result = taskService.getTasksPage("not-a-cursor", 10);
+
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable -> throwable instanceof BadRequestException &&
+                        throwable.getMessage().equals("Cursor is not valid."))
+                .verify();
+    }
+
+    @Test
+    void getTasksPage_ShouldReturnError_WhenLimitIsOutOfRange() {
+        Mono<TaskPageDTO> result = taskService.getTasksPage(null, 0);
+
+        StepVerifier.create(result)
+                .expectError(BadRequestException.class)
+                .verify();
+    }
+
+    @Test
+    void getTasksVersionByUserEmail_ShouldCombineCountHighestIdAndVersions() {
+        when(taskRepository.findListVersionByUserEmail("user@example.com")).thenReturn(Mono.just(new TaskListVersion(3L, 12L, 5L)));
+
+        StepVerifier.create(taskService.getTasksVersionByUserEmail("user@example.com"))
+                .expectNext("3-12-5")
+                .verifyComplete();
+
+        verify(taskRepository, never()).findByUserEmail(any());
+    }
+
+    @Test
+    void updateTask_ShouldReturnUpdatedTaskResponseDTO_InASingleStatement() {
+        when(taskRepository.update(eq(1L), anyMap(), isNull())).thenReturn(Mono.just(task));
         when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
 
         Mono<TaskResponseDTO> result = taskService.updateTask(1L, taskRequestDTO);
@@ -109,11 +400,33 @@ class TaskServiceImplTest {
         StepVerifier.create(result)
                 .expectNext(taskResponseDTO)
                 .verifyComplete();
+
+        verify(taskRepository).update(1L, Map.of("title", "Test Task", "description", "Test Description", "status", "Pending"), null);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskCache).invalidate(1L);
+        verify(taskChangeFeed).publish(TaskChangeType.UPDATED, "user@example.com", taskResponseDTO);
+    }
+
+    @Test
+    void updateTask_ShouldKeepTheTaskOnThePrimary_BeforeWritingAndInvalidatingTheCache() {
+        when(taskRepository.update(eq(1L), anyMap(), isNull())).thenReturn(Mono.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        StepVerifier.create(taskService.updateTask(1L, taskRequestDTO))
+                .expectNext(taskResponseDTO)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(taskReplicaRouter, taskRepository, taskCache);
+        inOrder.verify(taskReplicaRouter).recordWriteOfTasks(List.of(1L));
+        inOrder.verify(taskRepository).update(eq(1L), anyMap(), isNull());
+        inOrder.verify(taskReplicaRouter).recordWrite(task);
+        inOrder.verify(taskCache).invalidate(1L);
     }
 
     @Test
     void updateTask_ShouldReturnError_WhenTaskDoesNotExist() {
-        when(taskRepository.findById(1L)).thenReturn(Mono.empty());
+        when(taskRepository.update(eq(1L), anyMap(), isNull())).thenReturn(Mono.empty());
 
         Mono<TaskResponseDTO> result = taskService.updateTask(1L, taskRequestDTO);
 
@@ -124,19 +437,130 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void deleteTask_ShouldDeleteTask_WhenTaskExists() {
+    void updateTask_ShouldReturnConflict_WhenExpectedVersionIsStale() {
+        when(taskRepository.update(eq(1L), anyMap(), eq(3L))).thenReturn(Mono.empty());
         when(taskRepository.existsById(1L)).thenReturn(Mono.just(true));
-        when(taskRepository.deleteById(1L)).thenReturn(Mono.empty());
+
+        Mono<TaskResponseDTO> result = taskService.updateTask(1L, taskRequestDTO, 3L);
+
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable -> throwable instanceof TaskConflictException &&
+                        throwable.getMessage().equals("Task was modified by another request, Id: 1, expected version: 3"))
+                .verify();
+        verify(taskCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void updateTask_ShouldReturnNotFound_WhenExpectedVersionIsGivenForMissingTask() {
+        when(taskRepository.update(eq(1L), anyMap(), eq(3L))).thenReturn(Mono.empty());
+        when(taskRepository.existsById(1L)).thenReturn(Mono.just(false));
+
+        Mono<TaskResponseDTO> result = taskService.updateTask(1L, taskRequestDTO, 3L);
+
+        StepVerifier.create(result)
+                .expectError(TaskNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void searchTasks_ShouldReturnPageWithOffsetCursor_WhenMoreMatchesExist() {
+        Task second = new Task();
+        second.setId(2L);
+        TaskResponseDTO secondResponse = new TaskResponseDTO(2L, "Second", "Second", "Pending", 0L);
+        when(taskSearchEngine.search("test", null, 5L, 2)).thenReturn(Flux.just(task, second));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+        when(taskMapper.toResponseDto(second)).thenReturn(secondResponse);
+
+        Mono<TaskPageDTO> result = taskService.searchTasks("test", TaskCursor.encodeOffset(5), 1);
+
+        StepVerifier.create(result)
+                .expectNext(new TaskPageDTO(List.of(taskResponseDTO), TaskCursor.encodeOffset(6)))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchTasks_ShouldReturnBadRequest_WhenQueryIsBlank() {
+        StepVerifier.create(taskService.searchTasks(" ", null, 10))
+                .expectErrorMatches(throwable -> throwable instanceof BadRequestException
+                        && throwable.getMessage().equals("Search query is required and cannot be empty or blank."))
+                .verify();
+    }
+
+    @Test
+    void getTaskStatsByUserEmail_ShouldSumCountsAndServeRepeatedReadsFromCache() {
+        when(taskRepository.countByStatusAndUserEmail("user@example.com"))
+                .thenReturn(Flux.just(new TaskStatusCount("Pending", 2L), new TaskStatusCount("Done", 1L)));
+
+        Mono<TaskStatsDTO> result = taskService.getTaskStatsByUserEmail("user@example.com")
+                .then(taskService.getTaskStatsByUserEmail("user@example.com"));
+
+        StepVerifier.create(result)
+                .expectNext(new TaskStatsDTO(3, Map.of("Done", 1L, "Pending", 2L)))
+                .verifyComplete();
+
+        verify(taskRepository, times(1)).countByStatusAndUserEmail("user@example.com");
+    }
+
+    @Test
+    void patchTask_ShouldInvalidateStatsOfOwner_WhenStatusChanges() {
+        task.setUserEmail("user@example.com");
+        when(taskRepository.update(eq(1L), anyMap(), isNull())).thenReturn(Mono.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        taskService.patchTask(1L, new TaskPatchRequestDTO("New title", null, null), null).block();
+        verify(taskStatsCache, never()).invalidate(any());
+
+        taskService.patchTask(1L, new TaskPatchRequestDTO(null, null, "Done"), null).block();
+        verify(taskStatsCache).invalidate("user@example.com");
+    }
+
+    @Test
+    void patchTask_ShouldWriteOnlyTheGivenColumns() {
+        when(taskRepository.update(eq(1L), anyMap(), eq(2L))).thenReturn(Mono.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
+
+        Mono<TaskResponseDTO> result = taskService.patchTask(1L, new TaskPatchRequestDTO(null, null, "Done"), 2L);
+
+        StepVerifier.create(result)
+                .expectNext(taskResponseDTO)
+                .verifyComplete();
+
+        verify(taskRepository).update(1L, Map.of("status", "Done"), 2L);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskCache).invalidate(1L);
+        verify(taskSearchEngine).index(task);
+    }
+
+    @Test
+    void patchTask_ShouldReturnBadRequest_WhenNoFieldIsGiven() {
+        Mono<TaskResponseDTO> result = taskService.patchTask(1L, new TaskPatchRequestDTO(), null);
+
+        StepVerifier.create(result)
+                .expectError(BadRequestException.class)
+                .verify();
+
+        verify(taskRepository, never()).update(anyLong(), anyMap(), any());
+    }
+
+    @Test
+    void deleteTask_ShouldDeleteTask_WhenTaskExists() {
+        when(taskRepository.deleteAllByIdReturning(List.of(1L))).thenReturn(Flux.just(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(taskResponseDTO);
 
         Mono<Void> result = taskService.deleteTask(1L);
 
         StepVerifier.create(result)
                 .verifyComplete();
+
+        verify(taskCache).invalidate(1L);
+        verify(taskSearchEngine).remove(1L);
+        verify(taskRepository, never()).existsById(anyLong());
+        verify(taskChangeFeed).publish(TaskChangeType.DELETED, "user@example.com", taskResponseDTO);
     }
 
     @Test
     void deleteTask_ShouldReturnError_WhenTaskDoesNotExist() {
-        when(taskRepository.existsById(1L)).thenReturn(Mono.just(false));
+        when(taskRepository.deleteAllByIdReturning(List.of(1L))).thenReturn(Flux.empty());
 
         Mono<Void> result = taskService.deleteTask(1L);
 
@@ -144,6 +568,36 @@ class TaskServiceImplTest {
                 .expectErrorMatches(throwable -> throwable instanceof TaskNotFoundException &&
                         throwable.getMessage().equals("Task not found with Id: 1"))
                 .verify();
+
+        verify(taskChangeFeed, never()).publish(any(), any(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void deleteTasks_ShouldDeleteDistinctIdsInChunksAndInvalidateCache() {
+        taskBatchProperties.setDeleteChunkSize(2);
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        when(taskRepository.deleteAllByIdReturning(anyList())).thenReturn(Flux.just(task, secondTask), Flux.empty());
+
+        Mono<TaskDeleteResultDTO> result = taskService.deleteTasks(List.of(1L, 2L, 2L, 3L));
+
+        StepVerifier.create(result)
+                .expectNext(new TaskDeleteResultDTO(3, 2))
+                .verifyComplete();
+
+        verify(taskRepository).deleteAllByIdReturning(List.of(1L, 2L));
+        verify(taskRepository).deleteAllByIdReturning(List.of(3L));
+        verify(taskCache).invalidate(1L);
+        verify(taskCache).invalidate(3L);
+        verify(taskChangeFeed, times(2)).publish(eq(TaskChangeType.DELETED), any(), any());
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnBadRequest_WhenIdsAreEmpty() {
+        StepVerifier.create(taskService.deleteTasks(List.of()))
+                .expectError(BadRequestException.class)
+                .verify();
+
+        verify(taskRepository, never()).deleteAllByIdReturning(anyList());
+    }
+}